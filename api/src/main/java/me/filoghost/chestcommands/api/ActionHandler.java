@@ -0,0 +1,33 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.chestcommands.api;
+
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Callback to execute a custom action of the icons loaded from the menus folder.
+ *
+ * @since 2
+ */
+@FunctionalInterface
+public interface ActionHandler {
+
+    /**
+     * Callback for executing a custom action, given the player who clicked the icon and the argument of the action.
+     * <p>
+     * For example, the action "prefix: hello {player}" has the argument "hello Steve" when clicked by the player Steve.
+     * Placeholders in the argument are already replaced.
+     *
+     * @param player   the player who clicked the icon
+     * @param argument the text after the prefix of the action, without leading and trailing spaces (may be empty)
+     * @see ChestCommandsAPI#registerAction(Plugin, String, ActionHandler)
+     * @since 2
+     */
+    void execute(@NotNull Player player, @NotNull String argument);
+
+}
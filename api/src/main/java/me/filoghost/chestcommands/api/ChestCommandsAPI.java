@@ -39,7 +39,7 @@ public class ChestCommandsAPI {
      * @since 1
      */
     public static int getAPIVersion() {
-        return 1;
+        return 2;
     }
 
     /**
@@ -67,6 +67,9 @@ public class ChestCommandsAPI {
      * registered by distinct plugins.
      * <p>
      * This method replaces any currently registered placeholder with the same plugin and identifier (case insensitive).
+     * <p>
+     * The replacement is computed separately for each player and cached for a single tick. Use {@link
+     * #registerPlaceholder(Plugin, String, PlaceholderReplacer, PlaceholderScope, int)} to cache it for longer.
      *
      * @param plugin              the plugin registering the placeholder
      * @param identifier          the case-insensitive identifier of the placeholder, which can only contain letters,
@@ -79,7 +82,62 @@ public class ChestCommandsAPI {
     public static void registerPlaceholder(@NotNull Plugin plugin,
                                            @NotNull String identifier,
                                            @NotNull PlaceholderReplacer placeholderReplacer) {
-        BackendAPI.getImplementation().registerPlaceholder(plugin, identifier, placeholderReplacer);
+        BackendAPI.getImplementation().registerPlaceholder(plugin, identifier, placeholderReplacer, PlaceholderScope.PLAYER, 1, false);
+    }
+
+    /**
+     * Registers a placeholder like {@link #registerPlaceholder(Plugin, String, PlaceholderReplacer)}, also specifying
+     * how its replacement is cached.
+     * <p>
+     * The replacement is computed at most once every given number of ticks: once for each player if the scope is
+     * {@link PlaceholderScope#PLAYER}, or once for all players if the scope is {@link PlaceholderScope#GLOBAL}. Values
+     * which change often should use a low number of ticks, as players may see an outdated value until it expires.
+     *
+     * @param plugin              the plugin registering the placeholder
+     * @param identifier          the case-insensitive identifier of the placeholder, which can only contain letters,
+     *                            digits and underscores; its length must be between 1 and 30 characters
+     * @param placeholderReplacer the callback that returns the displayed value
+     * @param scope               whether the replacement is computed for each player or shared by all players
+     * @param cacheTicks          for how many ticks the replacement is cached, must be greater than 0
+     * @throws IllegalArgumentException if the identifier contains invalid characters, is too short or too long, or if
+     *                                  the cache ticks are not greater than 0
+     * @see PlaceholderReplacer#getReplacement(Player, String)
+     * @since 2
+     */
+    public static void registerPlaceholder(@NotNull Plugin plugin,
+                                           @NotNull String identifier,
+                                           @NotNull PlaceholderReplacer placeholderReplacer,
+                                           @NotNull PlaceholderScope scope,
+                                           int cacheTicks) {
+        BackendAPI.getImplementation().registerPlaceholder(plugin, identifier, placeholderReplacer, scope, cacheTicks, false);
+    }
+
+    /**
+     * Registers a placeholder like {@link #registerPlaceholder(Plugin, String, PlaceholderReplacer, PlaceholderScope,
+     * int)}, but whose replacement is computed asynchronously. This is useful for slow replacements, for example if
+     * they require a database query.
+     * <p>
+     * The replacer is invoked on a separate worker thread, and it must be thread safe. While the replacement is being
+     * computed, players see its last known value or, if no value is known yet, a loading text. Once the replacement is
+     * computed, open menus displaying it are updated.
+     *
+     * @param plugin              the plugin registering the placeholder
+     * @param identifier          the case-insensitive identifier of the placeholder, which can only contain letters,
+     *                            digits and underscores; its length must be between 1 and 30 characters
+     * @param placeholderReplacer the callback that returns the displayed value, invoked asynchronously
+     * @param scope               whether the replacement is computed for each player or shared by all players
+     * @param cacheTicks          for how many ticks the replacement is cached, must be greater than 0
+     * @throws IllegalArgumentException if the identifier contains invalid characters, is too short or too long, or if
+     *                                  the cache ticks are not greater than 0
+     * @see PlaceholderReplacer#getReplacement(Player, String)
+     * @since 2
+     */
+    public static void registerAsyncPlaceholder(@NotNull Plugin plugin,
+                                                @NotNull String identifier,
+                                                @NotNull PlaceholderReplacer placeholderReplacer,
+                                                @NotNull PlaceholderScope scope,
+                                                int cacheTicks) {
+        BackendAPI.getImplementation().registerPlaceholder(plugin, identifier, placeholderReplacer, scope, cacheTicks, true);
     }
 
     /**
@@ -96,6 +154,47 @@ public class ChestCommandsAPI {
         return BackendAPI.getImplementation().unregisterPlaceholder(plugin, identifier);
     }
 
+    /**
+     * Registers a custom action type, which can be used in the actions of the icons loaded from the menus folder with
+     * the format "{prefix}: {argument}". For example, given the prefix "test", the action "test: hello" would invoke
+     * the handler with the argument "hello". The prefix is case insensitive.
+     * <p>
+     * Actions are resolved when they are executed, so the action type can be registered even after the menus are
+     * loaded. Until it's registered, the action is executed as a command by the player, like actions without a prefix.
+     * <p>
+     * This method replaces any currently registered action type with the same prefix (case insensitive), even if it
+     * was registered by another plugin. The prefixes of the actions provided by Chest Commands cannot be used.
+     * <p>
+     * Actions with a prefix that is not registered are executed as player commands, which can be namespaced with the name
+     * of a plugin (for example "essentials:warp spawn"). For this reason, the name of a loaded plugin (or "minecraft" and
+     * "bukkit") cannot be used as prefix. Avoid prefixes that could become the name of a plugin installed later.
+     * The registered action types are removed when the plugin that registered them is disabled.
+     *
+     * @param plugin        the plugin registering the action type
+     * @param prefix        the case-insensitive prefix of the action, which can only contain letters, digits,
+     *                      underscores and hyphens; its length must be between 1 and 30 characters
+     * @param actionHandler the callback that executes the action
+     * @throws IllegalArgumentException if the prefix contains invalid characters, is too short or too long, or if it's
+     *                                  the prefix of an action provided by Chest Commands, or the name of a loaded plugin
+     * @see ActionHandler#execute(Player, String)
+     * @since 2
+     */
+    public static void registerAction(@NotNull Plugin plugin, @NotNull String prefix, @NotNull ActionHandler actionHandler) {
+        BackendAPI.getImplementation().registerAction(plugin, prefix, actionHandler);
+    }
+
+    /**
+     * Unregisters a custom action type.
+     *
+     * @param plugin the plugin that previously registered the action type
+     * @param prefix the case-insensitive prefix of the action
+     * @return true if the action type was registered by the plugin and was removed, false otherwise
+     * @since 2
+     */
+    public static boolean unregisterAction(@NotNull Plugin plugin, @NotNull String prefix) {
+        return BackendAPI.getImplementation().unregisterAction(plugin, prefix);
+    }
+
     /**
      * Returns if a menu with a given file name exists and was loaded successfully by Chest Commands from the menus
      * folder.
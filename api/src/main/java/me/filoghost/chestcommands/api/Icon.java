@@ -11,6 +11,9 @@ import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Icons are the elements contained in a {@link Menu}, rendered as {@link ItemStack} when presented to a player.
  * <p>
@@ -31,6 +34,25 @@ public interface Icon {
      */
     @Nullable ItemStack render(@NotNull Player viewer);
 
+    /**
+     * Creates the item stacks to be displayed to multiple players at once. This method is called when all the open views
+     * of a menu are refreshed by calling {@link Menu#refreshOpenViews()}. Implementations may override it to compute the
+     * parts shared by all the viewers only once.
+     * <p>
+     * The default implementation calls {@link #render(Player)} for each viewer.
+     *
+     * @param viewers the players viewing the menu
+     * @return the item stacks to display, in the same order of the viewers (elements can be null)
+     * @since 2
+     */
+    default @NotNull List<ItemStack> renderAll(@NotNull List<Player> viewers) {
+        List<ItemStack> renderings = new ArrayList<>(viewers.size());
+        for (Player viewer : viewers) {
+            renderings.add(render(viewer));
+        }
+        return renderings;
+    }
+
     /**
      * Called when a player clicks on the icon.
      *
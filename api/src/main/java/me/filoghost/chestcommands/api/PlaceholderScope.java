@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.chestcommands.api;
+
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * The scope of a placeholder replacement, which determines how its value is cached and shared between players.
+ *
+ * @see ChestCommandsAPI#registerPlaceholder(Plugin, String, PlaceholderReplacer, PlaceholderScope, int)
+ * @since 2
+ */
+public enum PlaceholderScope {
+
+    /**
+     * The replacement may be different for each player, and is cached separately for each player.
+     *
+     * @since 2
+     */
+    PLAYER,
+
+    /**
+     * The replacement is the same for all players, and is cached once for everyone. The player passed to {@link
+     * PlaceholderReplacer#getReplacement(Player, String)} is the first one for which the value was requested, and the
+     * replacement must not depend on it.
+     *
+     * @since 2
+     */
+    GLOBAL
+
+}
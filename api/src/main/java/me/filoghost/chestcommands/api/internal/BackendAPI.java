@@ -5,9 +5,11 @@
  */
 package me.filoghost.chestcommands.api.internal;
 
+import me.filoghost.chestcommands.api.ActionHandler;
 import me.filoghost.chestcommands.api.ConfigurableIcon;
 import me.filoghost.chestcommands.api.Menu;
 import me.filoghost.chestcommands.api.PlaceholderReplacer;
+import me.filoghost.chestcommands.api.PlaceholderScope;
 import me.filoghost.chestcommands.api.StaticIcon;
 import me.filoghost.fcommons.Preconditions;
 import org.bukkit.Material;
@@ -50,8 +52,15 @@ public abstract class BackendAPI {
 
     public abstract void registerPlaceholder(@NotNull Plugin plugin,
                                              @NotNull String identifier,
-                                             @NotNull PlaceholderReplacer placeholderReplacer);
+                                             @NotNull PlaceholderReplacer placeholderReplacer,
+                                             @NotNull PlaceholderScope scope,
+                                             int cacheTicks,
+                                             boolean async);
 
     public abstract boolean unregisterPlaceholder(@NotNull Plugin plugin, @NotNull String identifier);
 
+    public abstract void registerAction(@NotNull Plugin plugin, @NotNull String prefix, @NotNull ActionHandler actionHandler);
+
+    public abstract boolean unregisterAction(@NotNull Plugin plugin, @NotNull String prefix);
+
 }
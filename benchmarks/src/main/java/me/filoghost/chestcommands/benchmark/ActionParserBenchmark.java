@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.chestcommands.benchmark;
+
+import me.filoghost.chestcommands.action.Action;
+import me.filoghost.chestcommands.parsing.ActionParser;
+import me.filoghost.chestcommands.parsing.ParseException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Measures parsing the actions of the icons, done for every icon when the menus are loaded.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ActionParserBenchmark {
+
+    @Param({
+            "spawn",
+            "console: give {player} diamond 1",
+            "tell: &aYou received a reward, {player}!",
+            "open: shop.yml",
+            "give-money: 100",
+            "minecraft:spawn"
+    })
+    private String serializedAction;
+
+    @Benchmark
+    public Action parse() throws ParseException {
+        return ActionParser.parse(serializedAction);
+    }
+
+}
@@ -0,0 +1,335 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.chestcommands.benchmark;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.Server;
+import org.bukkit.UnsafeValues;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemFactory;
+import org.bukkit.inventory.ItemFlag;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.inventory.meta.BannerMeta;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.inventory.meta.LeatherArmorMeta;
+import org.bukkit.inventory.meta.SkullMeta;
+import org.bukkit.plugin.Plugin;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+/*
+ * Lightweight implementations of the Bukkit interfaces needed by the benchmarks, without a running server.
+ * Methods that are not explicitly implemented return null or the default value of their primitive return type.
+ *
+ * The server stand-in provides the item factory used by ItemStack for the item meta, and creates inventories.
+ * The item meta only keeps the values used by the plugin, with an equals() implementation like the real one.
+ */
+public final class BukkitStandIn {
+
+    private BukkitStandIn() {}
+
+    /*
+     * Installs the server stand-in, if not already installed. Needed by benchmarks that create items or inventories.
+     */
+    public static synchronized void installServer() {
+        if (Bukkit.getServer() != null) {
+            return;
+        }
+
+        Map<String, Object> unsafeReturnValues = new HashMap<>();
+        // NBT data is not supported, the item is returned unchanged
+        unsafeReturnValues.put("modifyItemStack", (MethodImplementation) args -> args[0]);
+
+        Map<String, Object> returnValues = new HashMap<>();
+        returnValues.put("getName", "BukkitStandIn");
+        returnValues.put("getVersion", "benchmark");
+        returnValues.put("getBukkitVersion", "1.8-R0.1-SNAPSHOT");
+        returnValues.put("getLogger", Logger.getLogger("BukkitStandIn"));
+        returnValues.put("getOnlinePlayers", Collections.emptyList());
+        returnValues.put("getItemFactory", createItemFactory());
+        returnValues.put("getUnsafe", createProxy(UnsafeValues.class, "unsafe", unsafeReturnValues));
+        returnValues.put("createInventory", (MethodImplementation) args -> {
+            String title = args.length >= 3 && args[2] instanceof String ? (String) args[2] : "Chest";
+            return createInventory(Inventory.class, (InventoryHolder) args[0], (Integer) args[1], title);
+        });
+
+        Bukkit.setServer(createProxy(Server.class, "server", returnValues));
+    }
+
+    public static Player createPlayer(String name) {
+        Map<String, Object> returnValues = new HashMap<>();
+        returnValues.put("getName", name);
+        returnValues.put("getDisplayName", name);
+        returnValues.put("getUniqueId", UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8)));
+        returnValues.put("isOnline", true);
+        returnValues.put("hasPermission", true);
+        Player player = createProxy(Player.class, name, returnValues);
+
+        // The player inventory has 36 slots, without armor
+        returnValues.put("getInventory", createInventory(PlayerInventory.class, player, 36, "Inventory"));
+        return player;
+    }
+
+    public static Plugin createPlugin(String name) {
+        Map<String, Object> returnValues = new HashMap<>();
+        returnValues.put("getName", name);
+        returnValues.put("isEnabled", true);
+        return createProxy(Plugin.class, name, returnValues);
+    }
+
+    /*
+     * Values of type MethodImplementation are invoked with the arguments, instead of being returned.
+     */
+    static <T> T createProxy(Class<T> type, String description, Map<String, Object> returnValues) {
+        InvocationHandler invocationHandler = (Object proxy, Method method, Object[] args) -> {
+            switch (method.getDeclaringClass() == Object.class ? method.getName() : "") {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return type.getSimpleName() + "{" + description + "}";
+                default:
+                    break;
+            }
+
+            if (returnValues.containsKey(method.getName())) {
+                Object returnValue = returnValues.get(method.getName());
+                if (returnValue instanceof MethodImplementation) {
+                    return ((MethodImplementation) returnValue).invoke(args != null ? args : new Object[0]);
+                }
+                return returnValue;
+            }
+
+            return getDefaultValue(method.getReturnType());
+        };
+
+        return type.cast(Proxy.newProxyInstance(BukkitStandIn.class.getClassLoader(), new Class<?>[] {type}, invocationHandler));
+    }
+
+    private static <T extends Inventory> T createInventory(Class<T> type, InventoryHolder holder, int size, String title) {
+        ItemStack[] contents = new ItemStack[size];
+
+        Map<String, Object> returnValues = new HashMap<>();
+        returnValues.put("getSize", size);
+        returnValues.put("getName", title);
+        returnValues.put("getTitle", title);
+        returnValues.put("getHolder", holder);
+        returnValues.put("getItem", (MethodImplementation) args -> contents[(Integer) args[0]]);
+        returnValues.put("setItem", (MethodImplementation) args -> contents[(Integer) args[0]] = (ItemStack) args[1]);
+        returnValues.put("getContents", (MethodImplementation) args -> contents.clone());
+        returnValues.put("setContents", (MethodImplementation) args -> {
+            Arrays.fill(contents, null);
+            ItemStack[] newContents = (ItemStack[]) args[0];
+            System.arraycopy(newContents, 0, contents, 0, Math.min(newContents.length, size));
+            return null;
+        });
+        returnValues.put("clear", (MethodImplementation) args -> {
+            Arrays.fill(contents, null);
+            return null;
+        });
+        return createProxy(type, title, returnValues);
+    }
+
+    private static ItemFactory createItemFactory() {
+        Map<String, Object> returnValues = new HashMap<>();
+        returnValues.put("getItemMeta", (MethodImplementation) args -> createItemMeta((Material) args[0], new ItemMetaValues()));
+        returnValues.put("isApplicable", true);
+        returnValues.put("equals", (MethodImplementation) args -> getValues((ItemMeta) args[0]).equals(getValues((ItemMeta) args[1])));
+        returnValues.put("asMetaFor", (MethodImplementation) args -> {
+            Material material = args[1] instanceof ItemStack ? ((ItemStack) args[1]).getType() : (Material) args[1];
+            return createItemMeta(material, getValues((ItemMeta) args[0]).copy());
+        });
+
+        return createProxy(ItemFactory.class, "itemFactory", returnValues);
+    }
+
+    private static ItemMeta createItemMeta(Material material, ItemMetaValues values) {
+        Class<?> type;
+        if (material.name().equals("SKULL_ITEM")) {
+            type = SkullMeta.class;
+        } else if (material.name().startsWith("LEATHER_")) {
+            type = LeatherArmorMeta.class;
+        } else if (material.name().equals("BANNER")) {
+            type = BannerMeta.class;
+        } else {
+            type = ItemMeta.class;
+        }
+
+        return (ItemMeta) Proxy.newProxyInstance(BukkitStandIn.class.getClassLoader(), new Class<?>[] {type}, values.new Handler(material));
+    }
+
+    private static ItemMetaValues getValues(ItemMeta itemMeta) {
+        if (itemMeta == null) {
+            return new ItemMetaValues();
+        }
+        return ((ItemMetaValues.Handler) Proxy.getInvocationHandler(itemMeta)).getValues();
+    }
+
+    private static Object getDefaultValue(Class<?> type) {
+        if (!type.isPrimitive() || type == void.class) {
+            return null;
+        } else if (type == boolean.class) {
+            return false;
+        } else if (type == char.class) {
+            return '\0';
+        } else if (type == byte.class) {
+            return (byte) 0;
+        } else if (type == short.class) {
+            return (short) 0;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == long.class) {
+            return 0L;
+        } else if (type == float.class) {
+            return 0f;
+        } else {
+            return 0d;
+        }
+    }
+
+
+
+    @FunctionalInterface
+    interface MethodImplementation {
+
+        Object invoke(Object[] args);
+
+    }
+
+
+    /*
+     * The values of an item meta, where the properties are the names of the getters and setters without prefix.
+     */
+    private static class ItemMetaValues {
+
+        private final Map<String, Object> properties = new HashMap<>();
+        private final Set<ItemFlag> itemFlags = new HashSet<>();
+        private final Map<Enchantment, Integer> enchants = new LinkedHashMap<>();
+
+        private ItemMetaValues copy() {
+            ItemMetaValues copy = new ItemMetaValues();
+            copy.properties.putAll(properties);
+            copy.itemFlags.addAll(itemFlags);
+            copy.enchants.putAll(enchants);
+            return copy;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || this.getClass() != obj.getClass()) {
+                return false;
+            }
+
+            ItemMetaValues other = (ItemMetaValues) obj;
+            return this.properties.equals(other.properties)
+                    && this.itemFlags.equals(other.itemFlags)
+                    && this.enchants.equals(other.enchants);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(properties, itemFlags, enchants);
+        }
+
+
+        private class Handler implements InvocationHandler {
+
+            private final Material material;
+
+            private Handler(Material material) {
+                this.material = material;
+            }
+
+            private ItemMetaValues getValues() {
+                return ItemMetaValues.this;
+            }
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                String name = method.getName();
+                switch (name) {
+                    case "equals":
+                        return args[0] instanceof ItemMeta && Proxy.isProxyClass(args[0].getClass())
+                                && ItemMetaValues.this.equals(BukkitStandIn.getValues((ItemMeta) args[0]));
+                    case "hashCode":
+                        return ItemMetaValues.this.hashCode();
+                    case "toString":
+                        return "ItemMeta{" + properties + ", " + itemFlags + ", " + enchants + "}";
+                    case "clone":
+                        return createItemMeta(material, copy());
+                    case "addItemFlags":
+                        itemFlags.addAll(Arrays.asList((ItemFlag[]) args[0]));
+                        return null;
+                    case "removeItemFlags":
+                        itemFlags.removeAll(Arrays.asList((ItemFlag[]) args[0]));
+                        return null;
+                    case "getItemFlags":
+                        return new HashSet<>(itemFlags);
+                    case "hasItemFlag":
+                        return itemFlags.contains((ItemFlag) args[0]);
+                    case "addEnchant":
+                        return !Objects.equals(enchants.put((Enchantment) args[0], (Integer) args[1]), args[1]);
+                    case "removeEnchant":
+                        return enchants.remove((Enchantment) args[0]) != null;
+                    case "getEnchants":
+                        return new LinkedHashMap<>(enchants);
+                    case "hasEnchants":
+                        return !enchants.isEmpty();
+                    case "hasEnchant":
+                        return enchants.containsKey((Enchantment) args[0]);
+                    case "getEnchantLevel":
+                        return enchants.getOrDefault((Enchantment) args[0], 0);
+                    default:
+                        break;
+                }
+
+                if (name.startsWith("set") && args != null && args.length == 1) {
+                    Object value = args[0] instanceof List ? new ArrayList<>((List<?>) args[0]) : args[0];
+                    if (value != null) {
+                        properties.put(name.substring(3), value);
+                    } else {
+                        properties.remove(name.substring(3));
+                    }
+                    return method.getReturnType() == boolean.class ? true : null;
+                } else if (name.startsWith("get") && (args == null || args.length == 0)) {
+                    Object value = properties.get(name.substring(3));
+                    return value instanceof List ? new ArrayList<>((List<?>) value) : value;
+                } else if (name.startsWith("has") && (args == null || args.length == 0)) {
+                    return properties.containsKey(name.substring(3));
+                }
+
+                return BukkitStandIn.getDefaultValue(method.getReturnType());
+            }
+
+        }
+
+    }
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.chestcommands.benchmark;
+
+import me.filoghost.chestcommands.icon.InternalConfigurableIcon;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Measures rendering an icon for a viewer, and for all the viewers of a menu at once.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IconRenderBenchmark {
+
+    private static final int VIEWERS = 20;
+
+    @Param({"STATIC", "DYNAMIC_NAME", "GLOBAL_NAME", "DYNAMIC_LORE_LINE"})
+    private IconType iconType;
+
+    private InternalConfigurableIcon icon;
+    private List<Player> viewers;
+    private int nextViewer;
+
+    @Setup
+    public void setup() {
+        BukkitStandIn.installServer();
+
+        viewers = new ArrayList<>();
+        for (int i = 0; i < VIEWERS; i++) {
+            viewers.add(BukkitStandIn.createPlayer("Player" + i));
+        }
+
+        icon = iconType.create();
+    }
+
+    @Benchmark
+    public ItemStack render() {
+        Player viewer = viewers.get(nextViewer);
+        nextViewer = (nextViewer + 1) % VIEWERS;
+        return icon.render(viewer);
+    }
+
+    @Benchmark
+    public List<ItemStack> renderAll() {
+        return icon.renderAll(viewers);
+    }
+
+
+    public enum IconType {
+
+        STATIC {
+            @Override
+            void configure(InternalConfigurableIcon icon) {
+                icon.setName("&bLegendary sword");
+            }
+        },
+
+        DYNAMIC_NAME {
+            @Override
+            void configure(InternalConfigurableIcon icon) {
+                icon.setName("&bSword of {player}");
+            }
+        },
+
+        GLOBAL_NAME {
+            @Override
+            void configure(InternalConfigurableIcon icon) {
+                icon.setName("&bOnline players: {online}");
+            }
+        },
+
+        DYNAMIC_LORE_LINE {
+            @Override
+            void configure(InternalConfigurableIcon icon) {
+                icon.setName("&bLegendary sword");
+                List<String> lore = new ArrayList<>(createLore());
+                lore.set(5, "&7Owner: &f{player}");
+                icon.setLore(lore);
+            }
+        };
+
+        abstract void configure(InternalConfigurableIcon icon);
+
+        InternalConfigurableIcon create() {
+            InternalConfigurableIcon icon = new InternalConfigurableIcon(Material.DIAMOND_SWORD);
+            icon.setLore(createLore());
+            configure(icon);
+            return icon;
+        }
+
+        private static List<String> createLore() {
+            String[] lore = new String[20];
+            for (int i = 0; i < lore.length; i++) {
+                lore[i] = "&7Line number " + (i + 1) + " of the description";
+            }
+            return Arrays.asList(lore);
+        }
+
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.chestcommands.benchmark;
+
+import me.filoghost.chestcommands.config.MenuCache;
+import me.filoghost.chestcommands.config.MenuSnapshot;
+import me.filoghost.chestcommands.logging.PrintableErrorCollector;
+import me.filoghost.chestcommands.parsing.menu.LoadedMenu;
+import me.filoghost.chestcommands.parsing.menu.MenuParser;
+import me.filoghost.fcommons.config.Config;
+import me.filoghost.fcommons.config.ConfigLoader;
+import me.filoghost.fcommons.config.exception.ConfigLoadException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Compares the time to load the example menu at startup by parsing its YAML file against reading its cached snapshot.
+ * Both include reading the file and parsing the menu settings and icons, which are done in either case.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MenuLoadBenchmark {
+
+    private Path dataFolder;
+    private Path menuFile;
+    private MenuCache menuCache;
+
+    @Setup
+    public void setup() throws IOException {
+        dataFolder = Files.createTempDirectory("chestcommands-benchmark");
+        Path menusFolder = dataFolder.resolve("menu");
+        Files.createDirectories(menusFolder);
+
+        menuFile = menusFolder.resolve("example.yml");
+        try (InputStream exampleMenu = MenuLoadBenchmark.class.getResourceAsStream("/menu/example.yml")) {
+            Files.copy(exampleMenu, menuFile);
+        }
+
+        byte[] fileContent = Files.readAllBytes(menuFile);
+        byte[] snapshot = MenuSnapshot.encode(new Yaml().load(new String(fileContent, StandardCharsets.UTF_8)));
+        if (snapshot == null) {
+            throw new IllegalStateException("example menu can't be cached");
+        }
+
+        menuCache = new MenuCache(dataFolder.resolve("menu-cache.dat"), menusFolder, "benchmark");
+        menuCache.putSnapshot(menuFile, MenuCache.hash(fileContent), snapshot);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(menuFile);
+        Files.delete(menuFile.getParent());
+        Files.delete(dataFolder);
+    }
+
+    @Benchmark
+    public LoadedMenu coldYaml() throws ConfigLoadException {
+        return MenuParser.loadMenu(new ConfigLoader(dataFolder, menuFile).load(), new PrintableErrorCollector());
+    }
+
+    @Benchmark
+    public LoadedMenu cachedSnapshot() throws IOException {
+        byte[] fileHash = MenuCache.hash(Files.readAllBytes(menuFile));
+        Config menuConfig = menuCache.getSnapshot(menuFile, fileHash);
+        return MenuParser.loadMenu(menuFile, menuConfig, new PrintableErrorCollector());
+    }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.chestcommands.benchmark;
+
+import me.filoghost.chestcommands.inventory.DefaultMenuView;
+import me.filoghost.chestcommands.inventory.MenuInventoryHolder;
+import me.filoghost.chestcommands.logging.PrintableErrorCollector;
+import me.filoghost.chestcommands.menu.InternalMenu;
+import me.filoghost.chestcommands.menu.MenuManager;
+import me.filoghost.chestcommands.parsing.menu.ClickType;
+import me.filoghost.chestcommands.parsing.menu.LoadedMenu;
+import me.filoghost.chestcommands.parsing.menu.MenuOpenItem;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.event.block.Action;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Measures the lookups done by the listeners and commands, with many menus loaded.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MenuManagerBenchmark {
+
+    private static final int MENUS = 200;
+
+    private Player player;
+    private Inventory menuInventory;
+    private ItemStack itemInHand;
+    private DefaultMenuView menuView;
+
+    @Setup
+    public void setup() {
+        BukkitStandIn.installServer();
+        MenuManager.reset();
+
+        PrintableErrorCollector errorCollector = new PrintableErrorCollector();
+        Material[] openItemMaterials = {Material.COMPASS, Material.CHEST, Material.BOOK};
+        for (int i = 0; i < MENUS; i++) {
+            InternalMenu menu = new InternalMenu("Menu " + i, 3, Paths.get("menu-" + i + ".yml"));
+            MenuOpenItem openItem = null;
+            if (i < openItemMaterials.length) {
+                openItem = new MenuOpenItem(openItemMaterials[i], ClickType.RIGHT);
+            }
+            MenuManager.registerMenu(new LoadedMenu(menu, menu.getSourceFile(), Collections.singletonList("menu" + i), openItem), errorCollector);
+        }
+
+        player = BukkitStandIn.createPlayer("Steve");
+        menuView = new DefaultMenuView(MenuManager.getMenuByFileName("menu-100.yml"), player);
+        MenuManager.onMenuViewOpen(menuView);
+        // Menu views are found through the holder of the inventory
+        menuInventory = Bukkit.createInventory(new MenuInventoryHolder(menuView), 27, "Menu 100");
+        itemInHand = new ItemStack(Material.DIAMOND_SWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        MenuManager.onMenuViewClose(menuView);
+        MenuManager.reset();
+    }
+
+    @Benchmark
+    public InternalMenu getMenuByFileName() {
+        return MenuManager.getMenuByFileName("menu-150.yml");
+    }
+
+    @Benchmark
+    public InternalMenu getMenuByOpenCommand() {
+        return MenuManager.getMenuByOpenCommand("MENU150");
+    }
+
+    @Benchmark
+    public DefaultMenuView getOpenMenuView() {
+        return MenuManager.getOpenMenuView(menuInventory);
+    }
+
+    @Benchmark
+    public void openMenuByItemWithoutMatch() {
+        MenuManager.openMenuByItem(player, itemInHand, Action.RIGHT_CLICK_AIR);
+    }
+
+}
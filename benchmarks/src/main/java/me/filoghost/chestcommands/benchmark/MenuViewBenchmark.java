@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.chestcommands.benchmark;
+
+import me.filoghost.chestcommands.icon.InternalConfigurableIcon;
+import me.filoghost.chestcommands.inventory.DefaultMenuView;
+import me.filoghost.chestcommands.menu.InternalMenu;
+import me.filoghost.chestcommands.menu.MenuManager;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Measures refreshing a full menu with a few dynamic icons, for a single view and for all the open views of the menu.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MenuViewBenchmark {
+
+    private static final int ROWS = 6;
+    private static final int VIEWERS = 20;
+
+    private InternalMenu menu;
+    private List<DefaultMenuView> menuViews;
+
+    @Setup
+    public void setup() {
+        BukkitStandIn.installServer();
+
+        menu = new InternalMenu("Benchmark", ROWS, Paths.get("benchmark.yml"));
+        Material[] materials = {Material.DIAMOND, Material.GOLD_INGOT, Material.IRON_INGOT, Material.EMERALD, Material.PAPER, Material.BOOK};
+        for (int row = 0; row < ROWS; row++) {
+            for (int column = 0; column < 9; column++) {
+                InternalConfigurableIcon icon = new InternalConfigurableIcon(materials[(row + column) % materials.length]);
+                if (column == 4) {
+                    icon.setName("&eStats of {player}");
+                } else {
+                    icon.setName("&aItem " + row + ":" + column);
+                }
+                icon.setLore(Arrays.asList("&7First line", "&7Second line", "&7Third line"));
+                menu.setIcon(row, column, icon);
+            }
+        }
+
+        menuViews = new ArrayList<>();
+        for (int i = 0; i < VIEWERS; i++) {
+            Player viewer = BukkitStandIn.createPlayer("Player" + i);
+            DefaultMenuView menuView = new DefaultMenuView(menu, viewer);
+            MenuManager.onMenuViewOpen(menuView);
+            menuViews.add(menuView);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        for (DefaultMenuView menuView : menuViews) {
+            MenuManager.onMenuViewClose(menuView);
+        }
+    }
+
+    @Benchmark
+    public void refreshSingleView() {
+        menuViews.get(0).refresh();
+    }
+
+    @Benchmark
+    public void refreshOpenViews() {
+        menu.refreshOpenViews();
+    }
+
+}
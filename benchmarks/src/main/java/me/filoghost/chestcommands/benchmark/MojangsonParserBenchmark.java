@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.chestcommands.benchmark;
+
+import me.filoghost.chestcommands.util.nbt.NBTCompound;
+import me.filoghost.chestcommands.util.nbt.parser.LegacyMojangsonParser;
+import me.filoghost.chestcommands.util.nbt.parser.MojangsonParseException;
+import me.filoghost.chestcommands.util.nbt.parser.MojangsonParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Compares the single-pass Mojangson parser against the previous regex-based implementation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MojangsonParserBenchmark {
+
+    @Param({"ATTRIBUTES", "FIREWORK", "BANNER_BOOK", "INT_ARRAYS"})
+    private NBTSample sample;
+
+    private String nbtData;
+
+    @Setup
+    public void setup() throws MojangsonParseException {
+        nbtData = sample.create();
+
+        // Make sure that both parsers accept the sample and agree on the result
+        if (!MojangsonParser.parse(nbtData).equals(LegacyMojangsonParser.parse(nbtData))) {
+            throw new IllegalStateException("parsers disagree on sample " + sample);
+        }
+    }
+
+    @Benchmark
+    public NBTCompound legacyRegex() throws MojangsonParseException {
+        return LegacyMojangsonParser.parse(nbtData);
+    }
+
+    @Benchmark
+    public NBTCompound singlePass() throws MojangsonParseException {
+        return MojangsonParser.parse(nbtData);
+    }
+
+
+    public enum NBTSample {
+
+        ATTRIBUTES {
+            @Override
+            String create() {
+                StringBuilder nbt = new StringBuilder("{HideFlags:63,Unbreakable:1b,AttributeModifiers:[");
+                String[] attributes = {"generic.attackDamage", "generic.movementSpeed", "generic.maxHealth", "generic.knockbackResistance"};
+                for (int i = 0; i < attributes.length; i++) {
+                    if (i > 0) {
+                        nbt.append(',');
+                    }
+                    nbt.append("{AttributeName:\"").append(attributes[i]).append("\",Name:\"").append(attributes[i]).append('"')
+                            .append(",Amount:").append(0.25 * (i + 1)).append("d,Operation:").append(i % 3)
+                            .append(",UUIDLeast:").append(-894654L * (i + 1)).append("L,UUIDMost:").append(2872L * (i + 7)).append("L}");
+                }
+                return nbt.append("],ench:[{id:16s,lvl:5s},{id:34s,lvl:3s},{id:20s,lvl:2s}]}").toString();
+            }
+        },
+
+        FIREWORK {
+            @Override
+            String create() {
+                StringBuilder nbt = new StringBuilder("{Fireworks:{Flight:2b,Explosions:[");
+                for (int i = 0; i < 8; i++) {
+                    if (i > 0) {
+                        nbt.append(',');
+                    }
+                    nbt.append("{Type:").append(i % 5).append("b,Flicker:").append(i % 2).append("b,Trail:1b,Colors:[I;")
+                            .append(0xFF0000 + i).append(',').append(0x00FF00 + i).append(',').append(0x0000FF + i)
+                            .append("],FadeColors:[I;16777215,").append(0x123456 * (i + 1) % 0xFFFFFF).append("]}");
+                }
+                return nbt.append("]}}").toString();
+            }
+        },
+
+        BANNER_BOOK {
+            @Override
+            String create() {
+                StringBuilder nbt = new StringBuilder("{BlockEntityTag:{Base:15,Patterns:[");
+                String[] patterns = {"bri", "hh", "cs", "bo", "ts", "bs", "ls", "rs"};
+                for (int i = 0; i < patterns.length; i++) {
+                    if (i > 0) {
+                        nbt.append(',');
+                    }
+                    nbt.append("{Pattern:\"").append(patterns[i]).append("\",Color:").append(i).append('}');
+                }
+                nbt.append("]},title:\"Guide\",author:\"Server\",generation:0,resolved:1b,pages:[");
+                for (int i = 0; i < 10; i++) {
+                    if (i > 0) {
+                        nbt.append(',');
+                    }
+                    nbt.append("\"{\\\"text\\\":\\\"Page ").append(i + 1).append(", read the rules carefully.\\\"}\"");
+                }
+                return nbt.append("],display:{Name:\"Guide\",Lore:[\"First line\",\"Second line\",\"Third line\"]}}").toString();
+            }
+        },
+
+        INT_ARRAYS {
+            @Override
+            String create() {
+                StringBuilder nbt = new StringBuilder("{SkullOwner:{Id:[I;");
+                nbt.append("-1497294846,1432504577,-1680640598,-1213376410");
+                nbt.append("],Properties:{textures:[{Value:\"").append(repeat("eyJ0ZXh0dXJlcyI6", 20)).append("\"}]}},Data:[I;");
+                for (int i = 0; i < 256; i++) {
+                    if (i > 0) {
+                        nbt.append(',');
+                    }
+                    nbt.append(i * 7919 - 1000000);
+                }
+                nbt.append("],Longs:[L;");
+                for (int i = 0; i < 64; i++) {
+                    if (i > 0) {
+                        nbt.append(',');
+                    }
+                    nbt.append(i * 1234567891011L).append('L');
+                }
+                return nbt.append("]}").toString();
+            }
+        };
+
+        abstract String create();
+
+        private static String repeat(String string, int times) {
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < times; i++) {
+                builder.append(string);
+            }
+            return builder.toString();
+        }
+
+    }
+
+}
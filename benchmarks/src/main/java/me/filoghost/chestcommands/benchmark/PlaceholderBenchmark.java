@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.chestcommands.benchmark;
+
+import me.filoghost.chestcommands.api.PlaceholderScope;
+import me.filoghost.chestcommands.placeholder.PlaceholderManager;
+import me.filoghost.chestcommands.placeholder.PlaceholderTemplate;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Compares scanning the text for placeholders on every replacement against rendering a precompiled template.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlaceholderBenchmark {
+
+    @Param({
+            "&aWelcome, {player}!",
+            "&7Hello {player}, your rank is {rank} and your score is {score: kills}",
+            "&7{player} {rank} {score: kills} {score: deaths} {unknown} {player} {rank} {score: wins}"
+    })
+    private String text;
+
+    private Player player;
+    private PlaceholderTemplate template;
+
+    @Setup
+    public void setup() {
+        player = BukkitStandIn.createPlayer("Steve");
+
+        Plugin plugin = BukkitStandIn.createPlugin("Benchmark");
+        PlaceholderManager.registerPluginPlaceholder(plugin, "rank", (viewer, argument) -> "Admin", PlaceholderScope.PLAYER, 1, false);
+        PlaceholderManager.registerPluginPlaceholder(plugin, "score", (viewer, argument) -> argument.length() + "0", PlaceholderScope.PLAYER, 1, false);
+
+        template = PlaceholderTemplate.compile(text);
+    }
+
+    @Benchmark
+    public String scanner() {
+        return PlaceholderManager.replaceDynamicPlaceholders(text, player);
+    }
+
+    @Benchmark
+    public String compiledTemplate() {
+        return PlaceholderManager.replaceDynamicPlaceholders(template, player);
+    }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.chestcommands.benchmark;
+
+import me.filoghost.chestcommands.icon.requirement.item.InventoryTakeHelper;
+import me.filoghost.chestcommands.icon.requirement.item.RequiredItem;
+import me.filoghost.chestcommands.icon.requirement.item.RequiredItems;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Measures checking whether a full inventory contains the items required by an icon.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequiredItemsBenchmark {
+
+    private Player player;
+    private PlayerInventory inventory;
+    private List<RequiredItem> requiredItemList;
+    private RequiredItems requiredItems;
+
+    @Setup
+    public void setup() {
+        BukkitStandIn.installServer();
+
+        player = BukkitStandIn.createPlayer("Steve");
+        inventory = player.getInventory();
+        Material[] materials = {Material.STONE, Material.COAL, Material.IRON_INGOT, Material.GOLD_INGOT, Material.APPLE, Material.WOOL};
+        for (int slot = 0; slot < inventory.getSize(); slot++) {
+            inventory.setItem(slot, new ItemStack(materials[slot % materials.length], 16, (short) (slot % 4)));
+        }
+        // The most valuable items are at the end
+        inventory.setItem(inventory.getSize() - 2, new ItemStack(Material.DIAMOND, 64));
+        inventory.setItem(inventory.getSize() - 1, new ItemStack(Material.EMERALD, 10));
+
+        requiredItemList = new ArrayList<>();
+        RequiredItem wool = new RequiredItem(Material.WOOL, 16);
+        wool.setRestrictiveDurability((short) 1);
+        requiredItemList.add(wool);
+        requiredItemList.add(new RequiredItem(Material.DIAMOND, 32));
+        requiredItemList.add(new RequiredItem(Material.EMERALD, 5));
+        requiredItemList.add(new RequiredItem(Material.GOLD_INGOT, 40));
+        requiredItems = new RequiredItems(requiredItemList);
+    }
+
+    @Benchmark
+    public boolean prepareTakeItems() {
+        return new InventoryTakeHelper(inventory).prepareTakeItems(requiredItemList);
+    }
+
+    @Benchmark
+    public boolean hasCost() {
+        return requiredItems.hasCost(player);
+    }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.chestcommands.benchmark;
+
+import me.filoghost.chestcommands.placeholder.StaticPlaceholder;
+import me.filoghost.chestcommands.placeholder.StaticPlaceholderMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Compares replacing each static placeholder with String.replace against the automaton of all the placeholders.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StaticPlaceholderBenchmark {
+
+    @Param({"10", "300"})
+    private int placeholderCount;
+
+    @Param({
+            "&7A line of lore without placeholders",
+            "&7Costs <coin>50 and gives <heart>3, <star> bonus <arrow> {player}"
+    })
+    private String text;
+
+    private List<StaticPlaceholder> staticPlaceholders;
+    private StaticPlaceholderMatcher matcher;
+
+    @Setup
+    public void setup() {
+        staticPlaceholders = new ArrayList<>();
+        staticPlaceholders.add(new StaticPlaceholder("<coin>", "⛃"));
+        staticPlaceholders.add(new StaticPlaceholder("<heart>", "❤"));
+        staticPlaceholders.add(new StaticPlaceholder("<star>", "★"));
+        staticPlaceholders.add(new StaticPlaceholder("<arrow>", "➔"));
+        for (int i = staticPlaceholders.size(); i < placeholderCount; i++) {
+            staticPlaceholders.add(new StaticPlaceholder("<symbol" + i + ">", Character.toString((char) ('☀' + i))));
+        }
+
+        matcher = StaticPlaceholderMatcher.compile(staticPlaceholders);
+    }
+
+    @Benchmark
+    public String sequentialReplace() {
+        String result = text;
+        for (StaticPlaceholder staticPlaceholder : staticPlaceholders) {
+            result = result.replace(staticPlaceholder.getIdentifier(), staticPlaceholder.getReplacement());
+        }
+        return result;
+    }
+
+    @Benchmark
+    public String automaton() {
+        return matcher.replaceAll(text);
+    }
+
+}
@@ -9,6 +9,9 @@ import me.filoghost.chestcommands.api.internal.BackendAPI;
 import me.filoghost.chestcommands.command.CommandHandler;
 import me.filoghost.chestcommands.config.ConfigManager;
 import me.filoghost.chestcommands.config.CustomPlaceholders;
+import me.filoghost.chestcommands.config.MenuCache;
+import me.filoghost.chestcommands.config.MenuFileTracker;
+import me.filoghost.chestcommands.config.MenuFileTracker.MenuFileChanges;
 import me.filoghost.chestcommands.config.Settings;
 import me.filoghost.chestcommands.hook.BarAPIHook;
 import me.filoghost.chestcommands.hook.BungeeCordHook;
@@ -19,12 +22,17 @@ import me.filoghost.chestcommands.legacy.UpgradesExecutor;
 import me.filoghost.chestcommands.listener.CommandListener;
 import me.filoghost.chestcommands.listener.InventoryListener;
 import me.filoghost.chestcommands.listener.JoinListener;
+import me.filoghost.chestcommands.listener.PluginDisableListener;
 import me.filoghost.chestcommands.listener.SignListener;
 import me.filoghost.chestcommands.logging.Errors;
 import me.filoghost.chestcommands.logging.PrintableErrorCollector;
 import me.filoghost.chestcommands.menu.MenuManager;
 import me.filoghost.chestcommands.parsing.menu.LoadedMenu;
 import me.filoghost.chestcommands.placeholder.PlaceholderManager;
+import me.filoghost.chestcommands.stats.PluginStats;
+import me.filoghost.chestcommands.task.ClickQueue;
+import me.filoghost.chestcommands.task.MenuAutoReloadTask;
+import me.filoghost.chestcommands.task.StatsExportTask;
 import me.filoghost.chestcommands.task.TickingTask;
 import me.filoghost.fcommons.BaseJavaPlugin;
 import me.filoghost.fcommons.config.ConfigLoader;
@@ -40,7 +48,10 @@ import org.bukkit.plugin.Plugin;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class ChestCommands extends BaseJavaPlugin {
 
@@ -51,6 +62,7 @@ public class ChestCommands extends BaseJavaPlugin {
     private static Path dataFolderPath;
 
     private static ConfigManager configManager;
+    private static MenuFileTracker menuFileTracker;
     private static CustomPlaceholders placeholders;
 
     private static ErrorCollector lastLoadErrors;
@@ -77,6 +89,9 @@ public class ChestCommands extends BaseJavaPlugin {
         dataFolderPath = getDataFolder().toPath();
         Log.setLogger(getLogger());
         configManager = new ConfigManager(getDataFolderPath());
+        configManager.setMenuCache(new MenuCache(
+                getDataFolderPath().resolve("menu-cache.dat"), configManager.getMenusFolder(), getDescription().getVersion()));
+        menuFileTracker = new MenuFileTracker(configManager);
         placeholders = new CustomPlaceholders();
 
         BackendAPI.setImplementation(new DefaultBackendAPI());
@@ -114,9 +129,12 @@ public class ChestCommands extends BaseJavaPlugin {
         int pluginID = 3658;
         new MetricsLite(this, pluginID);
 
+        ClickQueue clickQueue = new ClickQueue();
+
         Bukkit.getPluginManager().registerEvents(new CommandListener(), this);
-        Bukkit.getPluginManager().registerEvents(new InventoryListener(), this);
+        Bukkit.getPluginManager().registerEvents(new InventoryListener(clickQueue), this);
         Bukkit.getPluginManager().registerEvents(new JoinListener(), this);
+        Bukkit.getPluginManager().registerEvents(new PluginDisableListener(), this);
         Bukkit.getPluginManager().registerEvents(new SignListener(), this);
 
         new CommandHandler("chestcommands").register(this);
@@ -132,15 +150,22 @@ public class ChestCommands extends BaseJavaPlugin {
             }, 10L);
         }
 
-        Bukkit.getScheduler().runTaskTimer(this, new TickingTask(), 1L, 1L);
+        Bukkit.getScheduler().runTaskTimer(this, new TickingTask(clickQueue), 1L, 1L);
+        Bukkit.getScheduler().runTaskTimer(this, new MenuAutoReloadTask(), 20L, 20L);
+        Bukkit.getScheduler().runTaskTimerAsynchronously(this, new StatsExportTask(), 300L, 300L);
     }
 
     @Override
     public void onDisable() {
         MenuManager.closeAllOpenMenuViews();
+        PlaceholderManager.shutdown();
+        if (menuFileTracker != null) {
+            menuFileTracker.close();
+        }
     }
 
     public static ErrorCollector load() {
+        long loadStart = PluginStats.startTimer();
         ErrorCollector errorCollector = new PrintableErrorCollector();
         MenuManager.reset();
         boolean isFreshInstall = !Files.isDirectory(configManager.getRootDataFolder());
@@ -164,7 +189,9 @@ public class ChestCommands extends BaseJavaPlugin {
         }
 
         configManager.tryLoadSettings(errorCollector);
+        PluginStats.onSettingsLoaded();
         configManager.tryLoadLang(errorCollector);
+        PlaceholderManager.registerDefaultPlaceholders();
         placeholders = configManager.tryLoadCustomPlaceholders(errorCollector);
         PlaceholderManager.setStaticPlaceholders(placeholders.getPlaceholders());
 
@@ -174,15 +201,45 @@ public class ChestCommands extends BaseJavaPlugin {
             configManager.tryCreateDefault(errorCollector, exampleMenuLoader);
         }
 
-        List<LoadedMenu> loadedMenus = configManager.tryLoadMenus(errorCollector);
+        Map<Path, byte[]> loadedFileHashes = new HashMap<>();
+        List<LoadedMenu> loadedMenus = configManager.tryLoadMenus(errorCollector, loadedFileHashes);
         for (LoadedMenu loadedMenu : loadedMenus) {
             MenuManager.registerMenu(loadedMenu, errorCollector);
         }
+        menuFileTracker.reset(loadedFileHashes, Settings.auto_reload_menus);
 
         ChestCommands.lastLoadErrors = errorCollector;
+        PluginStats.recordFullReload(loadStart);
         return errorCollector;
     }
 
+    /*
+     * Only loads the menu files that were added, modified or deleted since the last load.
+     * Settings, lang and placeholders are not reloaded.
+     */
+    public static MenuFileChanges reloadChangedMenus(ErrorCollector errorCollector) {
+        long reloadStart = PluginStats.startTimer();
+        MenuFileChanges changes;
+        try {
+            changes = menuFileTracker.detectChanges();
+        } catch (IOException e) {
+            errorCollector.add(e, Errors.Config.menuListIOException(configManager.getMenusFolder()));
+            return null;
+        }
+
+        if (!changes.isEmpty()) {
+            Map<Path, byte[]> loadedFileHashes = new HashMap<>();
+            List<LoadedMenu> loadedMenus = configManager.tryLoadMenus(changes.getChangedFiles(), errorCollector, loadedFileHashes);
+            menuFileTracker.updateHashes(loadedFileHashes);
+            List<Path> outdatedFiles = new ArrayList<>(changes.getChangedFiles());
+            outdatedFiles.addAll(changes.getRemovedFiles());
+            MenuManager.replaceMenus(outdatedFiles, loadedMenus, errorCollector);
+            PluginStats.recordChangedMenusReload(reloadStart);
+        }
+
+        return changes;
+    }
+
 
     public static Plugin getInstance() {
         return pluginInstance;
@@ -5,9 +5,12 @@
  */
 package me.filoghost.chestcommands;
 
+import me.filoghost.chestcommands.action.PluginActionRegistry;
+import me.filoghost.chestcommands.api.ActionHandler;
 import me.filoghost.chestcommands.api.ConfigurableIcon;
 import me.filoghost.chestcommands.api.Menu;
 import me.filoghost.chestcommands.api.PlaceholderReplacer;
+import me.filoghost.chestcommands.api.PlaceholderScope;
 import me.filoghost.chestcommands.api.StaticIcon;
 import me.filoghost.chestcommands.api.internal.BackendAPI;
 import me.filoghost.chestcommands.icon.APIConfigurableIcon;
@@ -65,8 +68,11 @@ public class DefaultBackendAPI extends BackendAPI {
     @Override
     public void registerPlaceholder(@NotNull Plugin plugin,
                                     @NotNull String identifier,
-                                    @NotNull PlaceholderReplacer placeholderReplacer) {
-        PlaceholderManager.registerPluginPlaceholder(plugin, identifier, placeholderReplacer);
+                                    @NotNull PlaceholderReplacer placeholderReplacer,
+                                    @NotNull PlaceholderScope scope,
+                                    int cacheTicks,
+                                    boolean async) {
+        PlaceholderManager.registerPluginPlaceholder(plugin, identifier, placeholderReplacer, scope, cacheTicks, async);
     }
 
     @Override
@@ -74,4 +80,14 @@ public class DefaultBackendAPI extends BackendAPI {
         return PlaceholderManager.unregisterPluginPlaceholder(plugin, identifier);
     }
 
+    @Override
+    public void registerAction(@NotNull Plugin plugin, @NotNull String prefix, @NotNull ActionHandler actionHandler) {
+        PluginActionRegistry.register(plugin, prefix, actionHandler);
+    }
+
+    @Override
+    public boolean unregisterAction(@NotNull Plugin plugin, @NotNull String prefix) {
+        return PluginActionRegistry.unregister(plugin, prefix);
+    }
+
 }
@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.chestcommands.action;
+
+import me.filoghost.chestcommands.api.ActionHandler;
+import me.filoghost.chestcommands.placeholder.PlaceholderString;
+import org.bukkit.entity.Player;
+
+/*
+ * An action with a prefix which is not a default one, resolved when executed since plugins may register it after the menus are loaded.
+ * Executed as a player command if no plugin registered the prefix, like before plugins could register actions.
+ */
+public class PluginAction implements Action {
+
+    private final String prefix;
+    private final String serializedArgument;
+    private final PlayerCommandAction fallbackAction;
+    private PlaceholderString argument; // Only created if a plugin registered the prefix, most of these actions are commands
+
+    public PluginAction(String prefix, String serializedArgument, String serializedAction) {
+        this.prefix = prefix;
+        this.serializedArgument = serializedArgument;
+        this.fallbackAction = new PlayerCommandAction(serializedAction);
+    }
+
+    @Override
+    public void execute(Player player) {
+        ActionHandler actionHandler = PluginActionRegistry.getActionHandler(prefix);
+
+        if (actionHandler != null) {
+            if (argument == null) {
+                argument = PlaceholderString.of(serializedArgument);
+            }
+            actionHandler.execute(player, argument.getValue(player));
+        } else {
+            fallbackAction.execute(player);
+        }
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.chestcommands.action;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import me.filoghost.chestcommands.api.ActionHandler;
+import me.filoghost.chestcommands.parsing.ActionParser;
+import me.filoghost.fcommons.Preconditions;
+import me.filoghost.fcommons.collection.CaseInsensitiveMap;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.Nullable;
+
+/*
+ * Action types registered by other plugins through the API, removed when the plugin that registered them is disabled.
+ * Concurrent, since actions may be parsed while menus are loaded by multiple threads.
+ */
+public class PluginActionRegistry {
+
+    private static final int MAX_PREFIX_LENGTH = 30;
+
+    // <prefix, registered action>
+    private static final Map<String, RegisteredAction> registeredActions = new CaseInsensitiveMap<>(new ConcurrentHashMap<>());
+
+    public static void register(Plugin plugin, String prefix, ActionHandler actionHandler) {
+        Preconditions.notNull(plugin, "plugin");
+        checkPrefixArgument(prefix);
+        Preconditions.notNull(actionHandler, "actionHandler");
+        Preconditions.checkArgument(!ActionParser.isBuiltInPrefix(prefix), "prefix is already used by a default action");
+        Preconditions.checkArgument(!isCommandNamespace(prefix), "prefix is the name of a plugin, "
+                + "it would replace the player commands with the same namespace (for example \"" + prefix + ":command\")");
+
+        registeredActions.put(prefix, new RegisteredAction(plugin, actionHandler));
+    }
+
+    public static boolean unregister(Plugin plugin, String prefix) {
+        Preconditions.notNull(plugin, "plugin");
+        checkPrefixArgument(prefix);
+
+        RegisteredAction registeredAction = registeredActions.get(prefix);
+        if (registeredAction == null || registeredAction.plugin != plugin) {
+            return false;
+        }
+
+        return registeredActions.remove(prefix) != null;
+    }
+
+    public static void unregisterAll(Plugin plugin) {
+        registeredActions.values().removeIf(registeredAction -> registeredAction.plugin == plugin);
+    }
+
+    public static @Nullable ActionHandler getActionHandler(String prefix) {
+        RegisteredAction registeredAction = registeredActions.get(prefix);
+        return registeredAction != null ? registeredAction.actionHandler : null;
+    }
+
+    /*
+     * Actions whose prefix is not registered are executed as player commands, which can start with the name of a plugin.
+     * Plugins enabled after the registration are not checked, their namespaced commands would be replaced.
+     */
+    private static boolean isCommandNamespace(String prefix) {
+        if ("minecraft".equalsIgnoreCase(prefix) || "bukkit".equalsIgnoreCase(prefix)) {
+            return true;
+        }
+
+        for (Plugin plugin : Bukkit.getPluginManager().getPlugins()) {
+            if (plugin.getName().equalsIgnoreCase(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void checkPrefixArgument(String prefix) {
+        Preconditions.notNull(prefix, "prefix");
+        Preconditions.checkArgument(isValidPrefix(prefix), "prefix must contain only letters, numbers, underscores and hyphens, "
+                + "and its length must be between 1 and " + MAX_PREFIX_LENGTH);
+    }
+
+    public static boolean isValidPrefix(String prefix) {
+        if (prefix.isEmpty() || prefix.length() > MAX_PREFIX_LENGTH) {
+            return false;
+        }
+
+        for (int i = 0; i < prefix.length(); i++) {
+            char c = prefix.charAt(i);
+            boolean valid = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == '-';
+            if (!valid) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    private static class RegisteredAction {
+
+        private final Plugin plugin;
+        private final ActionHandler actionHandler;
+
+        private RegisteredAction(Plugin plugin, ActionHandler actionHandler) {
+            this.plugin = plugin;
+            this.actionHandler = actionHandler;
+        }
+
+    }
+
+}
@@ -0,0 +1,26 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.chestcommands.attribute;
+
+import me.filoghost.chestcommands.icon.InternalConfigurableIcon;
+import me.filoghost.chestcommands.menu.ClickLimit;
+import me.filoghost.chestcommands.parsing.ClickLimitParser;
+import me.filoghost.chestcommands.parsing.ParseException;
+
+public class ClickLimitAttribute implements IconAttribute {
+
+    private final ClickLimit clickLimit;
+
+    public ClickLimitAttribute(String serializedClickLimit, AttributeErrorHandler errorHandler) throws ParseException {
+        this.clickLimit = ClickLimitParser.parseClickLimit(serializedClickLimit);
+    }
+
+    @Override
+    public void apply(InternalConfigurableIcon icon) {
+        icon.setClickLimit(clickLimit);
+    }
+
+}
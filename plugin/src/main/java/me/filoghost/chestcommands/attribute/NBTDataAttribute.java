@@ -27,7 +27,7 @@ public class NBTDataAttribute implements IconAttribute {
 
     @Override
     public void apply(InternalConfigurableIcon icon) {
-        icon.setNBTData(nbtData);
+        icon.setValidatedNBTData(nbtData);
     }
 
 }
@@ -7,8 +7,15 @@ package me.filoghost.chestcommands.command;
 
 import me.filoghost.chestcommands.ChestCommands;
 import me.filoghost.chestcommands.Permissions;
+import me.filoghost.chestcommands.config.MenuFileTracker.MenuFileChanges;
+import me.filoghost.chestcommands.logging.PrintableErrorCollector;
 import me.filoghost.chestcommands.menu.InternalMenu;
 import me.filoghost.chestcommands.menu.MenuManager;
+import me.filoghost.chestcommands.parsing.NumberParser;
+import me.filoghost.chestcommands.parsing.ParseException;
+import me.filoghost.chestcommands.stats.LatencyHistogram;
+import me.filoghost.chestcommands.stats.PluginStats;
+import me.filoghost.chestcommands.stats.Profiler;
 import me.filoghost.chestcommands.util.Utils;
 import me.filoghost.fcommons.command.CommandException;
 import me.filoghost.fcommons.command.CommandValidate;
@@ -28,8 +35,14 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.command.ConsoleCommandSender;
 import org.bukkit.entity.Player;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
 public class CommandHandler extends MultiCommandManager {
 
+    private static final int MAX_PROFILE_SECONDS = 300;
+
     public CommandHandler(String label) {
         super(label);
     }
@@ -69,8 +82,15 @@ public class CommandHandler extends MultiCommandManager {
     @Name("reload")
     @Description("Reloads the plugin.")
     @Permission(Permissions.COMMAND_PREFIX + "reload")
+    @UsageArgs("[menus]")
     @DisplayPriority(100)
-    public void reload(CommandSender sender) {
+    public void reload(CommandSender sender, String[] args) throws CommandException {
+        if (args.length > 0) {
+            CommandValidate.check(args[0].equalsIgnoreCase("menus"), "Usage: /chestcommands reload [menus]");
+            reloadChangedMenus(sender);
+            return;
+        }
+
         MenuManager.closeAllOpenMenuViews();
 
         ErrorCollector errorCollector = ChestCommands.load();
@@ -86,6 +106,23 @@ public class CommandHandler extends MultiCommandManager {
         }
     }
 
+    private void reloadChangedMenus(CommandSender sender) {
+        ErrorCollector errorCollector = new PrintableErrorCollector();
+        MenuFileChanges changes = ChestCommands.reloadChangedMenus(errorCollector);
+
+        if (changes != null) {
+            sender.sendMessage(ChestCommands.CHAT_PREFIX + "Reloaded " + changes.getChangedFiles().size() + " changed menu(s), "
+                    + "unloaded " + changes.getRemovedFiles().size() + " deleted menu(s).");
+        }
+        if (errorCollector.hasErrors()) {
+            errorCollector.logToConsole();
+            sender.sendMessage(ChestCommands.CHAT_PREFIX + ChatColor.RED + "Menus reloaded with " + errorCollector.getErrorsCount() + " error(s).");
+            if (!(sender instanceof ConsoleCommandSender)) {
+                sender.sendMessage(ChestCommands.CHAT_PREFIX + ChatColor.RED + "Please check the console.");
+            }
+        }
+    }
+
     @Name("errors")
     @Description("Displays the last load errors on the console.")
     @Permission(Permissions.COMMAND_PREFIX + "errors")
@@ -105,6 +142,93 @@ public class CommandHandler extends MultiCommandManager {
         }
     }
 
+    @Name("stats")
+    @Description("Displays the runtime stats of the plugin.")
+    @Permission(Permissions.COMMAND_PREFIX + "stats")
+    @UsageArgs("[reset]")
+    @DisplayPriority(4)
+    public void stats(CommandSender sender, String[] args) throws CommandException {
+        CommandValidate.check(PluginStats.isEnabled(), "Stats are not being collected, set \"collect-stats\" to true in config.yml.");
+
+        if (args.length > 0) {
+            CommandValidate.check(args[0].equalsIgnoreCase("reset"), "Usage: /chestcommands stats [reset]");
+            PluginStats.reset();
+            sender.sendMessage(ChestCommands.CHAT_PREFIX + "Stats reset.");
+            return;
+        }
+
+        long minutes = TimeUnit.MILLISECONDS.toMinutes(System.currentTimeMillis() - PluginStats.getCollectingSinceMillis());
+        sender.sendMessage(ChestCommands.CHAT_PREFIX + "Stats of the last " + minutes + " minute(s):");
+
+        sender.sendMessage(ChatColor.GREEN + "Menu refreshes:");
+        for (Map.Entry<String, Long> entry : PluginStats.getMenuRefreshes().entrySet()) {
+            sender.sendMessage(ChatColor.GRAY + "- " + ChatColor.WHITE + entry.getKey() + ChatColor.GRAY + ": " + entry.getValue());
+        }
+
+        sender.sendMessage(ChatColor.GREEN + "Icon render time:");
+        for (Map.Entry<String, LatencyHistogram.Snapshot> entry : PluginStats.getIconRenderTimes().entrySet()) {
+            sender.sendMessage(ChatColor.GRAY + "- " + ChatColor.WHITE + entry.getKey() + ChatColor.GRAY + ": " + formatLatency(entry.getValue()));
+        }
+
+        double hitRatio = PluginStats.getPlaceholderCacheHitRatio();
+        sender.sendMessage(ChatColor.GREEN + "Placeholders: " + ChatColor.GRAY + PluginStats.getPlaceholderLookups() + " lookups, "
+                + PluginStats.getPlaceholderResolutions() + " resolutions, "
+                + (hitRatio >= 0 ? String.format("%.1f%%", hitRatio * 100) : "n/a") + " cache hits");
+        sender.sendMessage(ChatColor.GREEN + "Click latency: " + ChatColor.GRAY + formatLatency(PluginStats.getClickLatency()));
+        sender.sendMessage(ChatColor.GREEN + "Full reloads: " + ChatColor.GRAY + formatLatency(PluginStats.getFullReloadTimes()));
+        sender.sendMessage(ChatColor.GREEN + "Menu reloads: " + ChatColor.GRAY + formatLatency(PluginStats.getChangedMenusReloadTimes()));
+    }
+
+    @Name("profile")
+    @Description("Times icons and placeholders for some seconds.")
+    @Permission(Permissions.COMMAND_PREFIX + "profile")
+    @MinArgs(1)
+    @UsageArgs("<seconds>")
+    @DisplayPriority(5)
+    public void profile(CommandSender sender, String[] args) throws CommandException {
+        int seconds;
+        try {
+            seconds = NumberParser.getStrictlyPositiveInteger(args[0]);
+        } catch (ParseException e) {
+            throw new CommandException("Invalid seconds: " + e.getMessage());
+        }
+        CommandValidate.check(seconds <= MAX_PROFILE_SECONDS, "The profiler can run for at most " + MAX_PROFILE_SECONDS + " seconds.");
+        CommandValidate.check(Profiler.start(), "The profiler is already running.");
+
+        sender.sendMessage(ChestCommands.CHAT_PREFIX + "Profiling for " + seconds + " second(s)...");
+        Bukkit.getScheduler().runTaskLater(ChestCommands.getInstance(), () -> {
+            List<String> report = Profiler.stop();
+            if (report == null) {
+                return;
+            }
+
+            // The player may have left in the meantime
+            CommandSender receiver = sender;
+            if (sender instanceof Player && !((Player) sender).isOnline()) {
+                receiver = Bukkit.getConsoleSender();
+            }
+
+            receiver.sendMessage(ChestCommands.CHAT_PREFIX + "Profiler report:");
+            for (String line : report) {
+                receiver.sendMessage(line);
+            }
+        }, seconds * 20L);
+    }
+
+    private static String formatLatency(LatencyHistogram.Snapshot snapshot) {
+        if (snapshot.getCount() == 0) {
+            return "none";
+        }
+
+        long p95Nanos = snapshot.getPercentileUpperBoundNanos(95);
+        return snapshot.getCount() + " times, average " + formatNanos(snapshot.getAverageNanos())
+                + ", 95% under " + (p95Nanos >= 0 ? formatNanos(p95Nanos) : "5s+");
+    }
+
+    private static String formatNanos(long nanos) {
+        return String.format("%.3f ms", nanos / 1_000_000.0);
+    }
+
     @Name("list")
     @Description("Lists the loaded menus.")
     @Permission(Permissions.COMMAND_PREFIX + "list")
@@ -6,23 +6,30 @@
 package me.filoghost.chestcommands.config;
 
 import me.filoghost.chestcommands.logging.Errors;
+import me.filoghost.chestcommands.logging.PrintableErrorCollector;
 import me.filoghost.chestcommands.parsing.menu.LoadedMenu;
 import me.filoghost.chestcommands.parsing.menu.MenuParser;
 import me.filoghost.fcommons.Preconditions;
 import me.filoghost.fcommons.config.BaseConfigManager;
+import me.filoghost.fcommons.config.Config;
 import me.filoghost.fcommons.config.ConfigLoader;
 import me.filoghost.fcommons.config.FileConfig;
 import me.filoghost.fcommons.config.exception.ConfigException;
 import me.filoghost.fcommons.config.mapped.MappedConfigLoader;
 import me.filoghost.fcommons.logging.ErrorCollector;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.error.YAMLException;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileVisitOption;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -31,6 +38,7 @@ public class ConfigManager extends BaseConfigManager {
     private final MappedConfigLoader<Settings> settingsConfigLoader;
     private final ConfigLoader placeholdersConfigLoader;
     private final MappedConfigLoader<Lang> langConfigLoader;
+    private MenuCache menuCache;
 
     public ConfigManager(Path rootDataFolder) {
         super(rootDataFolder);
@@ -93,8 +101,10 @@ public class ConfigManager extends BaseConfigManager {
         errorCollector.add(e, Errors.Config.initException(file));
     }
 
-    public List<LoadedMenu> tryLoadMenus(ErrorCollector errorCollector) {
-        List<LoadedMenu> loadedMenus = new ArrayList<>();
+    /*
+     * The content hashes of the files computed while loading (only when the menu cache is enabled) are put in loadedFileHashes.
+     */
+    public List<LoadedMenu> tryLoadMenus(ErrorCollector errorCollector, Map<Path, byte[]> loadedFileHashes) {
         List<Path> menuFiles;
 
         try {
@@ -104,22 +114,136 @@ public class ConfigManager extends BaseConfigManager {
             return Collections.emptyList();
         }
 
-        for (Path menuFile : menuFiles) {
-            ConfigLoader menuConfigLoader = new ConfigLoader(rootDataFolder, menuFile);
+        if (isMenuCacheEnabled()) {
+            menuCache.loadIfNeeded();
+            menuCache.retainOnly(menuFiles);
+        }
+
+        return tryLoadMenus(menuFiles, errorCollector, loadedFileHashes);
+    }
+
+    public List<LoadedMenu> tryLoadMenus(List<Path> menuFiles, ErrorCollector errorCollector, Map<Path, byte[]> loadedFileHashes) {
+        List<LoadedMenu> loadedMenus = new ArrayList<>();
+
+        if (isMenuCacheEnabled()) {
+            menuCache.loadIfNeeded();
+        }
+
+        // Reading and parsing is done in parallel, the results are collected in the same order of the files
+        List<MenuLoadResult> loadResults = menuFiles.parallelStream()
+                .map(this::loadMenu)
+                .collect(Collectors.toList());
 
-            try {
-                FileConfig menuConfig = menuConfigLoader.load();
-                loadedMenus.add(MenuParser.loadMenu(menuConfig, errorCollector));
-            } catch (ConfigException e) {
-                logConfigInitException(errorCollector, menuConfigLoader.getFile(), e);
+        for (MenuLoadResult loadResult : loadResults) {
+            loadResult.errors.addTo(errorCollector);
+            if (loadResult.loadedMenu != null) {
+                loadedMenus.add(loadResult.loadedMenu);
             }
+            if (loadResult.fileHash != null) {
+                loadedFileHashes.put(loadResult.menuFile, loadResult.fileHash);
+            }
+        }
+
+        if (isMenuCacheEnabled()) {
+            menuCache.saveIfModified();
         }
 
         return loadedMenus;
     }
 
-    private boolean isYamlFile(Path path) {
+    /*
+     * Must not have side effects outside the returned result (except for the thread-safe menu cache),
+     * since it's executed in parallel.
+     */
+    private MenuLoadResult loadMenu(Path menuFile) {
+        PrintableErrorCollector errors = new PrintableErrorCollector();
+
+        byte[] fileHash = null;
+        if (isMenuCacheEnabled()) {
+            byte[] fileContent = tryReadAllBytes(menuFile);
+            if (fileContent != null) {
+                fileHash = MenuCache.hash(fileContent);
+                Config snapshotConfig = tryLoadSnapshotConfig(menuFile, fileContent, fileHash);
+                if (snapshotConfig != null) {
+                    return new MenuLoadResult(menuFile, fileHash, MenuParser.loadMenu(menuFile, snapshotConfig, errors), errors);
+                }
+            }
+        }
+
+        ConfigLoader menuConfigLoader = new ConfigLoader(rootDataFolder, menuFile);
+        FileConfig menuConfig;
+        try {
+            menuConfig = menuConfigLoader.load();
+        } catch (ConfigException e) {
+            logConfigInitException(errors, menuConfigLoader.getFile(), e);
+            return new MenuLoadResult(menuFile, fileHash, null, errors);
+        }
+
+        return new MenuLoadResult(menuFile, fileHash, MenuParser.loadMenu(menuConfig, errors), errors);
+    }
+
+    /*
+     * Parses the content only once: the snapshot is created from the parsed values, and the config from the snapshot,
+     * which is the same config obtained when the snapshot is found in the cache.
+     * Returns null if the menu must be loaded by the config loader instead, which also reports syntax errors,
+     * or if the values can't be represented by a snapshot.
+     */
+    private Config tryLoadSnapshotConfig(Path menuFile, byte[] fileContent, byte[] fileHash) {
+        Config cachedMenuConfig = menuCache.getSnapshot(menuFile, fileHash);
+        if (cachedMenuConfig != null) {
+            return cachedMenuConfig;
+        }
+
+        byte[] snapshot;
+        try {
+            snapshot = MenuSnapshot.encode(new Yaml().load(new String(fileContent, StandardCharsets.UTF_8)));
+        } catch (YAMLException e) {
+            return null;
+        }
+        if (snapshot == null) {
+            return null;
+        }
+
+        menuCache.putSnapshot(menuFile, fileHash, snapshot);
+        return MenuSnapshot.decode(ByteBuffer.wrap(snapshot));
+    }
+
+    private byte[] tryReadAllBytes(Path menuFile) {
+        try {
+            return Files.readAllBytes(menuFile);
+        } catch (IOException e) {
+            // Let the config loader report the error
+            return null;
+        }
+    }
+
+    public void setMenuCache(MenuCache menuCache) {
+        this.menuCache = menuCache;
+    }
+
+    private boolean isMenuCacheEnabled() {
+        return menuCache != null && Settings.menu_cache;
+    }
+
+    boolean isYamlFile(Path path) {
         return Files.isRegularFile(path) && path.getFileName().toString().toLowerCase().endsWith(".yml");
     }
 
+
+    private static class MenuLoadResult {
+
+        private final Path menuFile;
+        private final byte[] fileHash;
+        private final LoadedMenu loadedMenu;
+        private final PrintableErrorCollector errors;
+
+        private MenuLoadResult(Path menuFile, byte[] fileHash, LoadedMenu loadedMenu, PrintableErrorCollector errors) {
+            this.menuFile = menuFile;
+            this.fileHash = fileHash;
+            this.loadedMenu = loadedMenu;
+            this.errors = errors;
+        }
+
+    }
+
 }
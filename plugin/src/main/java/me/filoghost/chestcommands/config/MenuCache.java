@@ -0,0 +1,207 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.chestcommands.config;
+
+import com.google.common.hash.Hashing;
+import me.filoghost.fcommons.config.Config;
+import me.filoghost.fcommons.logging.Log;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Stores the snapshots of the menu files, so that unchanged files don't need to be parsed as YAML again on the next load.
+ * A snapshot is only used if the content hash of the file is the same, and the whole cache is discarded when the plugin version changes.
+ * Methods to get and put snapshots can be called from multiple threads.
+ */
+public class MenuCache {
+
+    private static final int MAGIC_NUMBER = 0x43434D43;
+    private static final int FORMAT_VERSION = 2;
+
+    private final Path cacheFile;
+    private final Path menusFolder;
+    private final String pluginVersion;
+    private final Map<Path, CachedSnapshot> snapshots;
+    private boolean loaded;
+    private volatile boolean modified;
+
+    public MenuCache(Path cacheFile, Path menusFolder, String pluginVersion) {
+        this.cacheFile = cacheFile;
+        this.menusFolder = menusFolder;
+        this.pluginVersion = pluginVersion;
+        this.snapshots = new ConcurrentHashMap<>();
+    }
+
+    public static byte[] hash(byte[] fileContent) {
+        return Hashing.sha256().hashBytes(fileContent).asBytes();
+    }
+
+    /*
+     * Returns null if there is no valid snapshot for the given content hash.
+     */
+    public Config getSnapshot(Path menuFile, byte[] fileHash) {
+        CachedSnapshot cachedSnapshot = snapshots.get(menuFile);
+        if (cachedSnapshot == null || !Arrays.equals(cachedSnapshot.fileHash, fileHash)) {
+            return null;
+        }
+
+        try {
+            return MenuSnapshot.decode(ByteBuffer.wrap(cachedSnapshot.data));
+        } catch (IllegalArgumentException | BufferUnderflowException e) {
+            snapshots.remove(menuFile);
+            modified = true;
+            return null;
+        }
+    }
+
+    public void putSnapshot(Path menuFile, byte[] fileHash, byte[] data) {
+        snapshots.put(menuFile, new CachedSnapshot(fileHash, data));
+        modified = true;
+    }
+
+    public void retainOnly(Collection<Path> menuFiles) {
+        Set<Path> retainedFiles = new HashSet<>(menuFiles);
+        if (snapshots.keySet().retainAll(retainedFiles)) {
+            modified = true;
+        }
+    }
+
+    public void loadIfNeeded() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+
+        if (!Files.isRegularFile(cacheFile)) {
+            return;
+        }
+
+        try {
+            readCacheFile();
+        } catch (IOException | IllegalArgumentException | BufferUnderflowException e) {
+            Log.warning("Couldn't read the menu cache, all the menus will be parsed from the files", e);
+            snapshots.clear();
+            modified = true;
+        }
+    }
+
+    public void saveIfModified() {
+        if (!modified) {
+            return;
+        }
+
+        try {
+            writeCacheFile();
+            modified = false;
+        } catch (IOException e) {
+            Log.warning("Couldn't save the menu cache", e);
+        }
+    }
+
+    /*
+     * The whole file is read with a single bulk read instead of being memory-mapped,
+     * because on Windows a mapped file can't be replaced until the mapping is garbage collected.
+     */
+    private void readCacheFile() throws IOException {
+        ByteBuffer data;
+        try (FileChannel channel = FileChannel.open(cacheFile, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("cache file is too large");
+            }
+            data = ByteBuffer.allocate((int) size);
+            while (data.hasRemaining()) {
+                if (channel.read(data) < 0) {
+                    throw new IOException("unexpected end of file");
+                }
+            }
+            data.flip();
+        }
+
+        if (data.getInt() != MAGIC_NUMBER || data.getInt() != FORMAT_VERSION || !pluginVersion.equals(readString(data))) {
+            // Written by another version, it will be overwritten
+            modified = true;
+            return;
+        }
+
+        int count = data.getInt();
+        for (int i = 0; i < count; i++) {
+            Path menuFile = menusFolder.resolve(readString(data));
+            byte[] fileHash = readBytes(data);
+            byte[] snapshot = readBytes(data);
+            snapshots.put(menuFile, new CachedSnapshot(fileHash, snapshot));
+        }
+    }
+
+    private void writeCacheFile() throws IOException {
+        Path tempFile = cacheFile.resolveSibling(cacheFile.getFileName() + ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+            out.writeInt(MAGIC_NUMBER);
+            out.writeInt(FORMAT_VERSION);
+            writeBytes(out, pluginVersion.getBytes(StandardCharsets.UTF_8));
+
+            out.writeInt(snapshots.size());
+            for (Map.Entry<Path, CachedSnapshot> entry : snapshots.entrySet()) {
+                String relativePath = menusFolder.relativize(entry.getKey()).toString().replace('\\', '/');
+                writeBytes(out, relativePath.getBytes(StandardCharsets.UTF_8));
+                writeBytes(out, entry.getValue().fileHash);
+                writeBytes(out, entry.getValue().data);
+            }
+        }
+
+        Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static String readString(ByteBuffer data) {
+        return new String(readBytes(data), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] readBytes(ByteBuffer data) {
+        int length = data.getInt();
+        if (length < 0 || length > data.remaining()) {
+            throw new IllegalArgumentException("invalid length " + length);
+        }
+        byte[] bytes = new byte[length];
+        data.get(bytes);
+        return bytes;
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+
+    private static class CachedSnapshot {
+
+        private final byte[] fileHash;
+        private final byte[] data;
+
+        private CachedSnapshot(byte[] fileHash, byte[] data) {
+            this.fileHash = fileHash;
+            this.data = data;
+        }
+
+    }
+
+}
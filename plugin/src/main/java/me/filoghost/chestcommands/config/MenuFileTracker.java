@@ -0,0 +1,296 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.chestcommands.config;
+
+import me.filoghost.fcommons.logging.Log;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitOption;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/*
+ * Keeps the last modified time and size of each menu file that was loaded, to find which files changed since then.
+ * Files are only read when those change, to compare the content hash computed while loading (if known) and ignore files
+ * that were saved without changes.
+ * When the menus are reloaded automatically and the file system supports it, a watch service tells which files to check,
+ * otherwise (or when some events are lost) all the menu files are checked.
+ */
+public class MenuFileTracker {
+
+    private final ConfigManager configManager;
+    private final Map<Path, FileState> fileStates;
+    private WatchService watchService;
+    private Set<Path> modifiedPaths;
+    private boolean rescanRequired;
+
+    public MenuFileTracker(ConfigManager configManager) {
+        this.configManager = configManager;
+        this.fileStates = new HashMap<>();
+        this.modifiedPaths = new HashSet<>();
+    }
+
+    /*
+     * Called after all the menus have been loaded from scratch, with the content hashes computed while loading them.
+     * The watch service is only worth keeping for frequent checks, like the ones of the automatic reload.
+     */
+    public void reset(Map<Path, byte[]> loadedFileHashes, boolean watchFiles) {
+        fileStates.clear();
+        modifiedPaths.clear();
+        rescanRequired = false;
+
+        if (!watchFiles) {
+            close();
+        } else if (watchService == null) {
+            tryStartWatchService();
+        } else {
+            // Discard events from before the full load
+            pollWatchEvents();
+            modifiedPaths.clear();
+            rescanRequired = false;
+        }
+
+        try {
+            for (Path menuFile : configManager.getMenuFiles()) {
+                BasicFileAttributes attributes = tryReadAttributes(menuFile);
+                if (attributes != null) {
+                    fileStates.put(menuFile, new FileState(attributes, loadedFileHashes.get(menuFile)));
+                }
+            }
+        } catch (IOException e) {
+            // Changes will not be detected until the next full load
+            Log.warning("Couldn't list the menu files to track their changes", e);
+        }
+    }
+
+    public MenuFileChanges detectChanges() throws IOException {
+        Set<Path> candidateFiles = new HashSet<>();
+        pollWatchEvents();
+
+        if (watchService == null || rescanRequired) {
+            candidateFiles.addAll(configManager.getMenuFiles());
+            candidateFiles.addAll(fileStates.keySet());
+        } else {
+            candidateFiles.addAll(modifiedPaths);
+        }
+        modifiedPaths = new HashSet<>();
+        rescanRequired = false;
+
+        List<Path> changedFiles = new ArrayList<>();
+        List<Path> removedFiles = new ArrayList<>();
+
+        for (Path file : candidateFiles) {
+            if (configManager.isYamlFile(file)) {
+                if (detectChange(file)) {
+                    changedFiles.add(file);
+                }
+            } else if (fileStates.remove(file) != null) {
+                removedFiles.add(file);
+            }
+        }
+
+        Collections.sort(changedFiles);
+        Collections.sort(removedFiles);
+        return new MenuFileChanges(changedFiles, removedFiles);
+    }
+
+    /*
+     * Called after the changed files have been loaded, with the content hashes computed while loading them.
+     */
+    public void updateHashes(Map<Path, byte[]> loadedFileHashes) {
+        loadedFileHashes.forEach((file, hash) -> {
+            FileState state = fileStates.get(file);
+            if (state != null) {
+                fileStates.put(file, new FileState(state.lastModifiedMillis, state.size, hash));
+            }
+        });
+    }
+
+    private boolean detectChange(Path file) {
+        BasicFileAttributes attributes = tryReadAttributes(file);
+        if (attributes == null) {
+            return false;
+        }
+
+        FileState oldState = fileStates.get(file);
+        if (oldState != null && oldState.hasSameAttributes(attributes)) {
+            return false;
+        }
+
+        byte[] hash = null;
+        if (oldState != null && oldState.hash != null) {
+            hash = tryHash(file);
+            if (hash == null) {
+                return false;
+            }
+        }
+
+        fileStates.put(file, new FileState(attributes, hash));
+        // Without a previous hash to compare, the file is considered changed
+        return hash == null || !Arrays.equals(hash, oldState.hash);
+    }
+
+    public void close() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                Log.warning("Couldn't close the menu files watch service", e);
+            }
+            watchService = null;
+        }
+    }
+
+    private void tryStartWatchService() {
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            registerDirectories(configManager.getMenusFolder());
+        } catch (IOException | UnsupportedOperationException e) {
+            Log.warning("Couldn't watch the menu files for changes, all of them will be checked on reload", e);
+            close();
+        }
+    }
+
+    private void registerDirectories(Path root) throws IOException {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+
+        List<Path> directories;
+        try (Stream<Path> paths = Files.walk(root, FileVisitOption.FOLLOW_LINKS)) {
+            directories = paths.filter(Files::isDirectory).collect(Collectors.toList());
+        }
+
+        for (Path directory : directories) {
+            directory.register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_DELETE);
+        }
+    }
+
+    private void pollWatchEvents() {
+        if (watchService == null) {
+            return;
+        }
+
+        WatchKey watchKey;
+        while ((watchKey = watchService.poll()) != null) {
+            Path directory = (Path) watchKey.watchable();
+
+            for (WatchEvent<?> event : watchKey.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    rescanRequired = true;
+                    continue;
+                }
+
+                Path path = directory.resolve((Path) event.context());
+                if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+                    // Files could be added to the new directory before it's registered
+                    try {
+                        registerDirectories(path);
+                    } catch (IOException e) {
+                        Log.warning("Couldn't watch the new menu folder \"" + path + "\" for changes", e);
+                    }
+                    rescanRequired = true;
+                } else if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE && !path.toString().endsWith(".yml")) {
+                    // May be a deleted directory with menu files inside
+                    rescanRequired = true;
+                } else {
+                    modifiedPaths.add(path);
+                }
+            }
+
+            if (!watchKey.reset()) {
+                // The directory is no longer accessible
+                rescanRequired = true;
+            }
+        }
+    }
+
+    private BasicFileAttributes tryReadAttributes(Path file) {
+        try {
+            return Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (IOException e) {
+            // The file may be still being written or deleted, it will be checked again when modified
+            return null;
+        }
+    }
+
+    private byte[] tryHash(Path file) {
+        try {
+            return MenuCache.hash(Files.readAllBytes(file));
+        } catch (IOException e) {
+            // The file may be still being written, it will be checked again when modified
+            return null;
+        }
+    }
+
+
+    private static class FileState {
+
+        private final long lastModifiedMillis;
+        private final long size;
+        private final byte[] hash;
+
+        private FileState(BasicFileAttributes attributes, byte[] hash) {
+            this(attributes.lastModifiedTime().toMillis(), attributes.size(), hash);
+        }
+
+        private FileState(long lastModifiedMillis, long size, byte[] hash) {
+            this.lastModifiedMillis = lastModifiedMillis;
+            this.size = size;
+            this.hash = hash;
+        }
+
+        private boolean hasSameAttributes(BasicFileAttributes attributes) {
+            return lastModifiedMillis == attributes.lastModifiedTime().toMillis() && size == attributes.size();
+        }
+
+    }
+
+
+    public static class MenuFileChanges {
+
+        private final List<Path> changedFiles;
+        private final List<Path> removedFiles;
+
+        private MenuFileChanges(List<Path> changedFiles, List<Path> removedFiles) {
+            this.changedFiles = changedFiles;
+            this.removedFiles = removedFiles;
+        }
+
+        public List<Path> getChangedFiles() {
+            return changedFiles;
+        }
+
+        public List<Path> getRemovedFiles() {
+            return removedFiles;
+        }
+
+        public boolean isEmpty() {
+            return changedFiles.isEmpty() && removedFiles.isEmpty();
+        }
+
+    }
+
+}
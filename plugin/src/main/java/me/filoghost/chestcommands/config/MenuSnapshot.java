@@ -0,0 +1,190 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.chestcommands.config;
+
+import me.filoghost.fcommons.config.Config;
+import me.filoghost.fcommons.config.ConfigSection;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Compact binary form of the values of a menu file, which is much faster to read than YAML.
+ * Only the types used by menus are supported: sections, strings, integers, decimals, booleans and lists of strings.
+ */
+public class MenuSnapshot {
+
+    private static final byte SECTION = 0;
+    private static final byte STRING = 1;
+    private static final byte INTEGER = 2;
+    private static final byte DECIMAL = 3;
+    private static final byte BOOLEAN = 4;
+    private static final byte STRING_LIST = 5;
+
+    /*
+     * Returns null if the values contain something that can't be represented,
+     * in which case the menu must always be loaded from YAML.
+     */
+    public static byte[] encode(Object yamlRoot) {
+        if (!(yamlRoot instanceof Map)) {
+            return null;
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            if (!writeSection(new DataOutputStream(bytes), (Map<?, ?>) yamlRoot)) {
+                return null;
+            }
+        } catch (IOException e) {
+            // Not thrown by ByteArrayOutputStream
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /*
+     * Throws IllegalArgumentException (or BufferUnderflowException) if the data is corrupted.
+     */
+    public static Config decode(ByteBuffer data) {
+        Config config = new Config();
+        if (data.get() != SECTION) {
+            throw new IllegalArgumentException("root is not a section");
+        }
+        readSectionEntries(data, config, "");
+        if (data.hasRemaining()) {
+            throw new IllegalArgumentException("trailing data");
+        }
+        return config;
+    }
+
+    private static boolean writeSection(DataOutputStream out, Map<?, ?> section) throws IOException {
+        if (section.isEmpty()) {
+            // Empty sections would be lost, since only values are set when decoding
+            return false;
+        }
+
+        out.writeByte(SECTION);
+        out.writeInt(section.size());
+        for (Map.Entry<?, ?> entry : section.entrySet()) {
+            if (entry.getKey() == null) {
+                return false;
+            }
+            String key = entry.getKey().toString();
+            if (key.isEmpty() || key.indexOf('.') >= 0) {
+                // Would be confused with the path separator
+                return false;
+            }
+            writeString(out, key);
+            if (!writeValue(out, entry.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value instanceof Map) {
+            return writeSection(out, (Map<?, ?>) value);
+
+        } else if (value instanceof String) {
+            out.writeByte(STRING);
+            writeString(out, (String) value);
+
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            out.writeByte(INTEGER);
+            out.writeInt(((Number) value).intValue());
+
+        } else if (value instanceof Double || value instanceof Float) {
+            out.writeByte(DECIMAL);
+            out.writeDouble(((Number) value).doubleValue());
+
+        } else if (value instanceof Boolean) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean((Boolean) value);
+
+        } else if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            out.writeByte(STRING_LIST);
+            out.writeInt(list.size());
+            for (Object element : list) {
+                if (!(element instanceof String)) {
+                    // Converting numbers and booleans to strings could hide errors reported when loading from YAML
+                    return false;
+                }
+                writeString(out, (String) element);
+            }
+
+        } else {
+            // Null values, long integers, dates and other uncommon types
+            return false;
+        }
+        return true;
+    }
+
+    private static void writeString(DataOutputStream out, String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void readSectionEntries(ByteBuffer data, ConfigSection config, String pathPrefix) {
+        int size = readLength(data);
+        for (int i = 0; i < size; i++) {
+            String path = pathPrefix + readString(data);
+            byte type = data.get();
+
+            switch (type) {
+                case SECTION:
+                    readSectionEntries(data, config, path + ".");
+                    break;
+                case STRING:
+                    config.setString(path, readString(data));
+                    break;
+                case INTEGER:
+                    config.setInt(path, data.getInt());
+                    break;
+                case DECIMAL:
+                    config.setDouble(path, data.getDouble());
+                    break;
+                case BOOLEAN:
+                    config.setBoolean(path, data.get() != 0);
+                    break;
+                case STRING_LIST:
+                    int listSize = readLength(data);
+                    List<String> list = new ArrayList<>(listSize);
+                    for (int j = 0; j < listSize; j++) {
+                        list.add(readString(data));
+                    }
+                    config.setStringList(path, list);
+                    break;
+                default:
+                    throw new IllegalArgumentException("unknown value type " + type);
+            }
+        }
+    }
+
+    private static String readString(ByteBuffer data) {
+        int length = readLength(data);
+        String string = new String(data.array(), data.arrayOffset() + data.position(), length, StandardCharsets.UTF_8);
+        data.position(data.position() + length);
+        return string;
+    }
+
+    private static int readLength(ByteBuffer data) {
+        int length = data.getInt();
+        if (length < 0 || length > data.remaining()) {
+            throw new IllegalArgumentException("invalid length " + length);
+        }
+        return length;
+    }
+
+}
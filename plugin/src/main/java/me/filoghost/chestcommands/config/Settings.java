@@ -19,6 +19,12 @@ public class Settings implements MappedConfig {
     public static String default_color__name = "&f";
     public static String default_color__lore = "&7";
     public static int anti_click_spam_delay = 200;
+    public static boolean async_money_placeholder = false;
+    public static String async_placeholder_loading_text = "&7Loading...";
+    public static boolean auto_reload_menus = false;
+    public static boolean menu_cache = true;
+    public static boolean collect_stats = false;
+    public static String stats_export_file = "";
     public static boolean update_notifications = true;
 
     @Override
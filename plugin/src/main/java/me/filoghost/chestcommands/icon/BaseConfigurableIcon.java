@@ -6,6 +6,8 @@
 package me.filoghost.chestcommands.icon;
 
 import me.filoghost.chestcommands.api.Icon;
+import me.filoghost.chestcommands.icon.RenderCache.RenderedValues;
+import me.filoghost.chestcommands.placeholder.Placeholder;
 import me.filoghost.chestcommands.placeholder.PlaceholderString;
 import me.filoghost.chestcommands.placeholder.PlaceholderStringList;
 import me.filoghost.chestcommands.util.nbt.parser.MojangsonParseException;
@@ -31,12 +33,16 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public abstract class BaseConfigurableIcon implements Icon {
 
+    private static final ItemFlag[] ALL_ITEM_FLAGS = ItemFlag.values();
+
     private Material material;
     private int amount;
     private short durability;
@@ -51,11 +57,15 @@ public abstract class BaseConfigurableIcon implements Icon {
     private List<Pattern> bannerPatterns;
     private boolean placeholdersEnabled;
 
+    private ItemStack baseItem; // The item with the values that don't depend on the viewer, copied for each rendering
     private ItemStack cachedRendering; // Cache the rendered item when possible and if state hasn't changed
+    private final RenderCache renderCache; // Used instead when the rendered item depends on dynamic placeholders
+    private int renderVersion; // Incremented when the icon changes, rendered items are never modified afterwards
 
     public BaseConfigurableIcon(Material material) {
         this.material = material;
         this.amount = 1;
+        this.renderCache = new RenderCache();
     }
 
     protected boolean shouldCacheRendering() {
@@ -72,9 +82,24 @@ public abstract class BaseConfigurableIcon implements Icon {
                 || (skullOwner != null && skullOwner.hasDynamicPlaceholders());
     }
 
+    private void invalidateRendering() {
+        baseItem = null;
+        cachedRendering = null;
+        renderCache.clear();
+        renderVersion++;
+    }
+
+    /*
+     * Rendered items are shared and never modified: when the icon changes, new items are created and the version changes.
+     * Views can compare the items by identity while the version stays the same, without copying them.
+     */
+    public int getRenderVersion() {
+        return renderVersion;
+    }
+
     public void setMaterial(@NotNull Material material) {
         this.material = material;
-        cachedRendering = null;
+        invalidateRendering();
     }
 
     public @NotNull Material getMaterial() {
@@ -84,7 +109,7 @@ public abstract class BaseConfigurableIcon implements Icon {
     public void setAmount(int amount) {
         Preconditions.checkArgument(amount > 0, "amount must be greater than 0");
         this.amount = Math.min(amount, 127);
-        cachedRendering = null;
+        invalidateRendering();
     }
 
     public int getAmount() {
@@ -94,7 +119,7 @@ public abstract class BaseConfigurableIcon implements Icon {
     public void setDurability(short durability) {
         Preconditions.checkArgument(durability >= 0, "durability must be 0 or greater");
         this.durability = durability;
-        cachedRendering = null;
+        invalidateRendering();
     }
 
     public short getDurability() {
@@ -109,8 +134,16 @@ public abstract class BaseConfigurableIcon implements Icon {
                 throw new IllegalArgumentException("invalid nbtData", e);
             }
         }
+        setValidatedNBTData(nbtData);
+    }
+
+    /*
+     * Avoids parsing the NBT data again, when it has already been validated.
+     * Only the string is kept: the server parses it once, when the base item is created.
+     */
+    public void setValidatedNBTData(@Nullable String nbtData) {
         this.nbtData = nbtData;
-        cachedRendering = null;
+        invalidateRendering();
     }
 
     public @Nullable String getNBTData() {
@@ -119,7 +152,7 @@ public abstract class BaseConfigurableIcon implements Icon {
 
     public void setName(@Nullable String name) {
         this.name = PlaceholderString.of(name);
-        cachedRendering = null;
+        invalidateRendering();
     }
 
     public @Nullable String getName() {
@@ -140,7 +173,7 @@ public abstract class BaseConfigurableIcon implements Icon {
         } else {
             this.lore = null;
         }
-        cachedRendering = null;
+        invalidateRendering();
     }
 
     public @Nullable List<String> getLore() {
@@ -153,7 +186,7 @@ public abstract class BaseConfigurableIcon implements Icon {
 
     public void setEnchantments(@Nullable Map<Enchantment, Integer> enchantments) {
         this.enchantments = CollectionUtils.copy(enchantments);
-        cachedRendering = null;
+        invalidateRendering();
     }
 
     public @Nullable Map<Enchantment, Integer> getEnchantments() {
@@ -169,7 +202,7 @@ public abstract class BaseConfigurableIcon implements Icon {
             enchantments = new HashMap<>();
         }
         enchantments.put(enchantment, level);
-        cachedRendering = null;
+        invalidateRendering();
     }
 
     public void removeEnchantment(@NotNull Enchantment enchantment) {
@@ -177,7 +210,7 @@ public abstract class BaseConfigurableIcon implements Icon {
             return;
         }
         enchantments.remove(enchantment);
-        cachedRendering = null;
+        invalidateRendering();
     }
 
     public @Nullable Color getLeatherColor() {
@@ -186,7 +219,7 @@ public abstract class BaseConfigurableIcon implements Icon {
 
     public void setLeatherColor(@Nullable Color leatherColor) {
         this.leatherColor = leatherColor;
-        cachedRendering = null;
+        invalidateRendering();
     }
 
     public @Nullable String getSkullOwner() {
@@ -199,7 +232,7 @@ public abstract class BaseConfigurableIcon implements Icon {
 
     public void setSkullOwner(@Nullable String skullOwner) {
         this.skullOwner = PlaceholderString.of(skullOwner);
-        cachedRendering = null;
+        invalidateRendering();
     }
 
     public @Nullable DyeColor getBannerColor() {
@@ -208,7 +241,7 @@ public abstract class BaseConfigurableIcon implements Icon {
 
     public void setBannerColor(@Nullable DyeColor bannerColor) {
         this.bannerColor = bannerColor;
-        cachedRendering = null;
+        invalidateRendering();
     }
 
     public @Nullable List<Pattern> getBannerPatterns() {
@@ -221,7 +254,7 @@ public abstract class BaseConfigurableIcon implements Icon {
 
     public void setBannerPatterns(@Nullable List<Pattern> bannerPatterns) {
         this.bannerPatterns = CollectionUtils.copy(bannerPatterns);
-        cachedRendering = null;
+        invalidateRendering();
     }
 
     public boolean isPlaceholdersEnabled() {
@@ -230,7 +263,7 @@ public abstract class BaseConfigurableIcon implements Icon {
 
     public void setPlaceholdersEnabled(boolean placeholdersEnabled) {
         this.placeholdersEnabled = placeholdersEnabled;
-        cachedRendering = null;
+        invalidateRendering();
     }
 
     public @Nullable String renderName(Player viewer) {
@@ -262,14 +295,118 @@ public abstract class BaseConfigurableIcon implements Icon {
         return lore.getValue(viewer);
     }
 
+    public @Nullable String renderSkullOwner(Player viewer) {
+        if (skullOwner == null) {
+            return null;
+        }
+
+        return skullOwner.getValue(viewer);
+    }
+
     @Override
-    @SuppressWarnings("deprecation")
     public ItemStack render(@NotNull Player viewer) {
         if (shouldCacheRendering() && cachedRendering != null) {
             // Performance: return a cached item
             return cachedRendering;
         }
 
+        RenderedValues renderedValues = new RenderedValues(renderName(viewer), renderLore(viewer), renderSkullOwner(viewer));
+        return getRendering(renderedValues, isPlayerIndependent());
+    }
+
+    @Override
+    public @NotNull List<ItemStack> renderAll(@NotNull List<Player> viewers) {
+        if (viewers.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        if (shouldCacheRendering() && cachedRendering != null) {
+            return Collections.nCopies(viewers.size(), cachedRendering);
+        }
+
+        // Performance: the values that are the same for all the viewers are rendered only once
+        Player firstViewer = viewers.get(0);
+        boolean sharedName = !isNameDynamic() || name.isPlayerIndependent();
+        boolean sharedLore = !isLoreDynamic() || lore.isPlayerIndependent();
+        boolean sharedSkullOwner = !isSkullOwnerDynamic() || skullOwner.isPlayerIndependent();
+        String renderedName = sharedName ? renderName(firstViewer) : null;
+        List<String> renderedLore = sharedLore ? renderLore(firstViewer) : null;
+        String renderedSkullOwner = sharedSkullOwner ? renderSkullOwner(firstViewer) : null;
+
+        if (sharedName && sharedLore && sharedSkullOwner) {
+            // The same item is displayed to all the viewers
+            RenderedValues renderedValues = new RenderedValues(renderedName, renderedLore, renderedSkullOwner);
+            return Collections.nCopies(viewers.size(), getRendering(renderedValues, true));
+        }
+
+        List<ItemStack> renderings = new ArrayList<>(viewers.size());
+        for (Player viewer : viewers) {
+            renderings.add(getRendering(new RenderedValues(
+                    sharedName ? renderedName : renderName(viewer),
+                    sharedLore ? renderedLore : renderLore(viewer),
+                    sharedSkullOwner ? renderedSkullOwner : renderSkullOwner(viewer)), false));
+        }
+        return renderings;
+    }
+
+    private ItemStack getRendering(RenderedValues renderedValues, boolean playerIndependent) {
+        if (shouldCacheRendering()) {
+            cachedRendering = createItemStack(renderedValues);
+            return cachedRendering;
+        } else if (playerIndependent) {
+            // Performance: share the same item between all the viewers, while the values of the placeholders don't change
+            return renderCache.get(renderedValues, this::createItemStack);
+        } else {
+            // Values that depend on the viewer would need a cache entry for each viewer, evicting each other with many viewers
+            return createItemStack(renderedValues);
+        }
+    }
+
+    private boolean isPlayerIndependent() {
+        return (!isNameDynamic() || name.isPlayerIndependent())
+                && (!isLoreDynamic() || lore.isPlayerIndependent())
+                && (!isSkullOwnerDynamic() || skullOwner.isPlayerIndependent());
+    }
+
+    /*
+     * Only the values that can contain dynamic placeholders are set on each rendering, the rest is already in the base item.
+     */
+    private ItemStack createItemStack(RenderedValues renderedValues) {
+        if (baseItem == null) {
+            baseItem = createBaseItem();
+        }
+
+        ItemStack itemStack = baseItem.clone();
+        if (!isNameDynamic() && !isLoreDynamic() && !isSkullOwnerDynamic()) {
+            return itemStack;
+        }
+
+        ItemMeta itemMeta = itemStack.getItemMeta();
+
+        if (itemMeta != null) {
+            if (isNameDynamic()) {
+                itemMeta.setDisplayName(renderedValues.getName());
+            }
+
+            if (isLoreDynamic()) {
+                itemMeta.setLore(renderedValues.getLore());
+            }
+
+            if (isSkullOwnerDynamic() && itemMeta instanceof SkullMeta) {
+                ((SkullMeta) itemMeta).setOwner(renderedValues.getSkullOwner());
+            }
+
+            itemStack.setItemMeta(itemMeta);
+        }
+
+        return itemStack;
+    }
+
+    /*
+     * The NBT data is applied only here, so that the server parses it once instead of once per rendering.
+     */
+    @SuppressWarnings("deprecation")
+    private ItemStack createBaseItem() {
         ItemStack itemStack = new ItemStack(material, amount, durability);
 
         // First try to apply NBT data
@@ -281,16 +418,21 @@ public abstract class BaseConfigurableIcon implements Icon {
         ItemMeta itemMeta = itemStack.getItemMeta();
 
         if (itemMeta != null) {
-            itemMeta.setDisplayName(renderName(viewer));
-            itemMeta.setLore(renderLore(viewer));
+            // Static values don't depend on the viewer
+            if (!isNameDynamic()) {
+                itemMeta.setDisplayName(renderName(null));
+            }
+
+            if (!isLoreDynamic()) {
+                itemMeta.setLore(renderLore(null));
+            }
 
             if (leatherColor != null && itemMeta instanceof LeatherArmorMeta) {
                 ((LeatherArmorMeta) itemMeta).setColor(leatherColor);
             }
 
-            if (skullOwner != null && itemMeta instanceof SkullMeta) {
-                String skullOwner = this.skullOwner.getValue(viewer);
-                ((SkullMeta) itemMeta).setOwner(skullOwner);
+            if (skullOwner != null && !isSkullOwnerDynamic() && itemMeta instanceof SkullMeta) {
+                ((SkullMeta) itemMeta).setOwner(renderSkullOwner(null));
             }
 
             if (itemMeta instanceof BannerMeta) {
@@ -305,7 +447,7 @@ public abstract class BaseConfigurableIcon implements Icon {
 
             // Hide all text details (damage, enchantments, potions, etc,)
             if (itemMeta.getItemFlags().isEmpty()) {
-                itemMeta.addItemFlags(ItemFlag.values());
+                itemMeta.addItemFlags(ALL_ITEM_FLAGS);
             }
 
             itemStack.setItemMeta(itemMeta);
@@ -315,12 +457,29 @@ public abstract class BaseConfigurableIcon implements Icon {
             enchantments.forEach(itemStack::addUnsafeEnchantment);
         }
 
+        return itemStack;
+    }
 
-        if (shouldCacheRendering()) {
-            cachedRendering = itemStack;
-        }
+    /*
+     * Used to refresh only the icons affected by a placeholder whose value changed.
+     */
+    public boolean usesAnyPlaceholder(Set<Placeholder> placeholders) {
+        return (isNameDynamic() && name.usesAnyPlaceholder(placeholders))
+                || (isLoreDynamic() && lore.usesAnyPlaceholder(placeholders))
+                || (isSkullOwnerDynamic() && skullOwner.usesAnyPlaceholder(placeholders));
+    }
 
-        return itemStack;
+    private boolean isNameDynamic() {
+        return placeholdersEnabled && name != null && name.hasDynamicPlaceholders();
+    }
+
+    private boolean isLoreDynamic() {
+        return placeholdersEnabled && lore != null && lore.hasDynamicPlaceholders();
+    }
+
+    private boolean isSkullOwnerDynamic() {
+        // The skull owner is always rendered with placeholders
+        return skullOwner != null && skullOwner.hasDynamicPlaceholders();
     }
 
 }
@@ -13,21 +13,26 @@ import me.filoghost.chestcommands.config.Lang;
 import me.filoghost.chestcommands.icon.requirement.RequiredExpLevel;
 import me.filoghost.chestcommands.icon.requirement.RequiredMoney;
 import me.filoghost.chestcommands.icon.requirement.Requirement;
+import me.filoghost.chestcommands.icon.requirement.item.InventoryTakeHelper;
 import me.filoghost.chestcommands.icon.requirement.item.RequiredItem;
 import me.filoghost.chestcommands.icon.requirement.item.RequiredItems;
+import me.filoghost.chestcommands.menu.ClickLimit;
+import me.filoghost.chestcommands.placeholder.PlaceholderManager;
 import me.filoghost.fcommons.Preconditions;
 import me.filoghost.fcommons.collection.CollectionUtils;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class InternalConfigurableIcon extends BaseConfigurableIcon implements RefreshableIcon {
 
+    private String iconName;
+
     private IconPermission viewPermission;
     private IconPermission clickPermission;
     private String noClickPermissionMessage;
@@ -36,6 +41,8 @@ public class InternalConfigurableIcon extends BaseConfigurableIcon implements Re
     private RequiredExpLevel requiredExpLevel;
     private RequiredItems requiredItems;
 
+    private ClickLimit clickLimit;
+
     private ImmutableList<Action> clickActions;
     private ClickResult clickResult;
 
@@ -45,6 +52,15 @@ public class InternalConfigurableIcon extends BaseConfigurableIcon implements Re
         this.clickResult = ClickResult.CLOSE;
     }
 
+    // The name of the icon section in the menu file, used to identify the icon in reports
+    public @Nullable String getIconName() {
+        return iconName;
+    }
+
+    public void setIconName(String iconName) {
+        this.iconName = iconName;
+    }
+
     public boolean canViewIcon(Player player) {
         return IconPermission.hasPermission(player, viewPermission);
     }
@@ -89,6 +105,14 @@ public class InternalConfigurableIcon extends BaseConfigurableIcon implements Re
         }
     }
 
+    public ClickLimit getClickLimit() {
+        return clickLimit;
+    }
+
+    public void setClickLimit(ClickLimit clickLimit) {
+        this.clickLimit = clickLimit;
+    }
+
     public void setClickActions(List<Action> clickActions) {
         this.clickActions = CollectionUtils.immutableCopy(clickActions);
     }
@@ -103,6 +127,31 @@ public class InternalConfigurableIcon extends BaseConfigurableIcon implements Re
         }
     }
 
+    @Override
+    public @NotNull List<ItemStack> renderAll(@NotNull List<Player> viewers) {
+        if (!hasViewPermission()) {
+            return super.renderAll(viewers);
+        }
+
+        // Render the icon together only for the viewers that can see it
+        List<Player> allowedViewers = new ArrayList<>(viewers.size());
+        boolean[] allowed = new boolean[viewers.size()];
+        for (int i = 0; i < viewers.size(); i++) {
+            allowed[i] = canViewIcon(viewers.get(i));
+            if (allowed[i]) {
+                allowedViewers.add(viewers.get(i));
+            }
+        }
+
+        List<ItemStack> allowedRenderings = super.renderAll(allowedViewers);
+        List<ItemStack> renderings = new ArrayList<>(viewers.size());
+        int allowedIndex = 0;
+        for (int i = 0; i < viewers.size(); i++) {
+            renderings.add(allowed[i] ? allowedRenderings.get(allowedIndex++) : null);
+        }
+        return renderings;
+    }
+
     @Override
     protected boolean shouldCacheRendering() {
         return super.shouldCacheRendering() && !hasViewPermission();
@@ -137,14 +186,23 @@ public class InternalConfigurableIcon extends BaseConfigurableIcon implements Re
         }
 
         // Check all the requirements
-        Requirement[] requirements = {requiredMoney, requiredExpLevel, requiredItems};
-        boolean hasAllRequirements = Requirement.hasAllCosts(player, requirements);
+        boolean hasAllRequirements = Requirement.hasAllCosts(player, requiredMoney, requiredExpLevel);
         if (!hasAllRequirements) {
             return clickResult;
         }
 
+        // The items to take are found while checking, and reused when taking them
+        InventoryTakeHelper requiredItemsTake = null;
+        if (requiredItems != null) {
+            requiredItemsTake = requiredItems.prepareTake(player);
+            if (requiredItemsTake == null) {
+                return clickResult;
+            }
+        }
+
         // If all requirements are satisfied, take their cost
-        boolean takenAllCosts = Requirement.takeAllCosts(player, requirements);
+        boolean takenAllCosts = Requirement.takeAllCosts(player, requiredMoney, requiredExpLevel)
+                && (requiredItems == null || requiredItems.takeCost(player, requiredItemsTake));
         if (!takenAllCosts) {
             return clickResult;
         }
@@ -162,6 +220,7 @@ public class InternalConfigurableIcon extends BaseConfigurableIcon implements Re
         }
 
         // Update the menu after taking requirement costs and executing all actions
+        PlaceholderManager.invalidateCachedReplacements(player);
         menuView.refresh();
 
         // Force menu to stay open if actions open another menu
@@ -179,22 +238,8 @@ public class InternalConfigurableIcon extends BaseConfigurableIcon implements Re
             return currentRendering;
         }
 
-        if (!canViewIcon(viewer)) {
-            // Hide the current item
-            return null;
-        }
-
-        if (currentRendering == null) {
-            // Render item normally
-            return render(viewer);
-        } else {
-            // Internal icons are loaded and then never change, we can safely update only name and lore (for performance)
-            ItemMeta meta = currentRendering.getItemMeta();
-            meta.setDisplayName(renderName(viewer));
-            meta.setLore(renderLore(viewer));
-            currentRendering.setItemMeta(meta);
-            return currentRendering;
-        }
+        // Icons with dynamic placeholders are rendered through the shared render cache
+        return render(viewer);
     }
 
 }
@@ -11,6 +11,10 @@ import org.jetbrains.annotations.Nullable;
 
 public interface RefreshableIcon {
 
+    /*
+     * The current rendering must not be modified: return it as it is if nothing changed,
+     * otherwise return a new item. Views use this to skip updating unchanged slots.
+     */
     @Nullable ItemStack updateRendering(Player viewer, @Nullable ItemStack currentRendering);
 
 }
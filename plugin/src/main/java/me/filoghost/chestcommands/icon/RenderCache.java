@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.chestcommands.icon;
+
+import org.bukkit.inventory.ItemStack;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/*
+ * Size-bounded LRU cache of rendered items, keyed by the values of the dynamic parts of an icon.
+ * Only used for values that are the same for all the viewers (global placeholders), which share the same rendered item.
+ * The size only needs to cover the recent values of those placeholders, not the number of viewers.
+ */
+public class RenderCache {
+
+    static final int MAX_SIZE = 64;
+
+    private final Map<RenderedValues, ItemStack> cache;
+
+    public RenderCache() {
+        this.cache = new LinkedHashMap<RenderedValues, ItemStack>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<RenderedValues, ItemStack> eldest) {
+                return size() > MAX_SIZE;
+            }
+
+        };
+    }
+
+    public ItemStack get(RenderedValues renderedValues, Function<RenderedValues, ItemStack> renderFunction) {
+        return cache.computeIfAbsent(renderedValues, renderFunction);
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+
+    public static class RenderedValues {
+
+        private final String name;
+        private final List<String> lore;
+        private final String skullOwner;
+        private final int hashCode;
+
+        public RenderedValues(String name, List<String> lore, String skullOwner) {
+            this.name = name;
+            this.lore = lore;
+            this.skullOwner = skullOwner;
+            this.hashCode = Objects.hash(name, lore, skullOwner);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public List<String> getLore() {
+            return lore;
+        }
+
+        public String getSkullOwner() {
+            return skullOwner;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || this.getClass() != obj.getClass()) {
+                return false;
+            }
+
+            RenderedValues other = (RenderedValues) obj;
+            return this.hashCode == other.hashCode
+                    && Objects.equals(this.name, other.name)
+                    && Objects.equals(this.lore, other.lore)
+                    && Objects.equals(this.skullOwner, other.skullOwner);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+    }
+
+}
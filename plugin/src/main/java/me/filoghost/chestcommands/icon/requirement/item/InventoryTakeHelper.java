@@ -6,47 +6,73 @@
 package me.filoghost.chestcommands.icon.requirement.item;
 
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
 import me.filoghost.fcommons.MaterialsHelper;
 import me.filoghost.fcommons.Preconditions;
+import org.bukkit.Material;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.PlayerInventory;
+import org.jetbrains.annotations.Nullable;
 
+/*
+ * The inventory is indexed by material in a single pass, so that each required item only goes through the items of its material.
+ */
 public class InventoryTakeHelper {
 
     private final PlayerInventory inventory;
-    private final List<RemainingItem> remainingItems;
+    private final Map<Material, List<RemainingItem>> remainingItemsByMaterial;
+    private final List<RemainingItem> takenItems;
 
     private boolean success;
 
     public InventoryTakeHelper(PlayerInventory inventory) {
+        this(inventory, null);
+    }
+
+    /*
+     * If not null, only the items of the given materials are indexed.
+     */
+    public InventoryTakeHelper(PlayerInventory inventory, @Nullable Set<Material> indexedMaterials) {
         this.inventory = inventory;
-        this.remainingItems = new ArrayList<>();
+        this.remainingItemsByMaterial = new EnumMap<>(Material.class);
+        this.takenItems = new ArrayList<>();
 
         for (int slotIndex = 0; slotIndex < inventory.getSize(); slotIndex++) {
             ItemStack item = inventory.getItem(slotIndex);
-            if (item != null && !MaterialsHelper.isAir(item.getType())) {
-                remainingItems.add(new RemainingItem(slotIndex, item));
+            if (item == null || MaterialsHelper.isAir(item.getType())) {
+                continue;
             }
+            if (indexedMaterials != null && !indexedMaterials.contains(item.getType())) {
+                continue;
+            }
+
+            remainingItemsByMaterial.computeIfAbsent(item.getType(), material -> new ArrayList<>()).add(new RemainingItem(slotIndex, item));
         }
     }
 
+    /*
+     * Required items with a restrictive durability must come first, otherwise the required items with any durability
+     * may take the only items which match the restrictive durability.
+     */
     public boolean prepareTakeItems(List<RequiredItem> requiredItems) {
         List<RequiredItem> missingItems = new ArrayList<>();
 
-        // Sort required items: check required items with a restrictive durability first
-        List<RequiredItem> sortedRequiredItems = requiredItems.stream()
-                .sorted(Comparator.comparing(RequiredItem::hasRestrictiveDurability).reversed())
-                .collect(Collectors.toList());
-
-        for (RequiredItem requiredItem : sortedRequiredItems) {
+        for (RequiredItem requiredItem : requiredItems) {
             int remainingRequiredAmount = requiredItem.getAmount();
+            List<RemainingItem> remainingItems = remainingItemsByMaterial.getOrDefault(requiredItem.getMaterial(), Collections.emptyList());
 
             for (RemainingItem remainingItem : remainingItems) {
                 if (remainingItem.getAmount() > 0 && requiredItem.isMatchingType(remainingItem)) {
+                    boolean alreadyTaken = remainingItem.isTaken();
                     int takenAmount = remainingItem.subtract(remainingRequiredAmount);
+                    if (!alreadyTaken && takenAmount > 0) {
+                        takenItems.add(remainingItem);
+                    }
+
                     remainingRequiredAmount -= takenAmount;
                     if (remainingRequiredAmount == 0) {
                         break;
@@ -64,18 +90,31 @@ public class InventoryTakeHelper {
         return success;
     }
 
+    /*
+     * Returns true if the successful preparation can still be applied, because the items to take were not modified since.
+     */
+    public boolean isPreparationApplicable() {
+        if (!success) {
+            return false;
+        }
+
+        for (RemainingItem takenItem : takenItems) {
+            if (!takenItem.isUnchanged(inventory.getItem(takenItem.getSlotIndex()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public void applyTakeItems() {
         Preconditions.checkState(success, "items take preparation was not run or successful");
 
-        for (RemainingItem remainingItem : remainingItems) {
-            int slotIndex = remainingItem.getSlotIndex();
-            ItemStack inventoryItem = inventory.getItem(slotIndex);
-            if (remainingItem.getAmount() != inventoryItem.getAmount()) {
-                if (remainingItem.getAmount() > 0) {
-                    inventoryItem.setAmount(remainingItem.getAmount());
-                } else {
-                    inventory.setItem(slotIndex, null);
-                }
+        for (RemainingItem takenItem : takenItems) {
+            int slotIndex = takenItem.getSlotIndex();
+            if (takenItem.getAmount() > 0) {
+                inventory.getItem(slotIndex).setAmount(takenItem.getAmount());
+            } else {
+                inventory.setItem(slotIndex, null);
             }
         }
     }
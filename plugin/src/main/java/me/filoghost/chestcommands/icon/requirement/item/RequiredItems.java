@@ -6,24 +6,49 @@
 package me.filoghost.chestcommands.icon.requirement.item;
 
 import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import me.filoghost.chestcommands.config.Lang;
 import me.filoghost.chestcommands.icon.requirement.Requirement;
 import me.filoghost.chestcommands.util.Utils;
+import org.bukkit.Material;
 import org.bukkit.entity.Player;
+import org.jetbrains.annotations.Nullable;
 
 public class RequiredItems implements Requirement {
 
     private final List<RequiredItem> items;
+    private final List<RequiredItem> itemsInTakeOrder;
+    private final Set<Material> materials;
     
     public RequiredItems(List<RequiredItem> items) {
         this.items = ImmutableList.copyOf(items);
+
+        // Check required items with a restrictive durability first
+        List<RequiredItem> sortedItems = new ArrayList<>(items);
+        sortedItems.sort(Comparator.comparing(RequiredItem::hasRestrictiveDurability).reversed());
+        this.itemsInTakeOrder = ImmutableList.copyOf(sortedItems);
+
+        this.materials = EnumSet.noneOf(Material.class);
+        for (RequiredItem item : this.items) {
+            materials.add(item.getMaterial());
+        }
     }
 
     @Override
     public boolean hasCost(Player player) {
-        InventoryTakeHelper inventoryTakeHelper = new InventoryTakeHelper(player.getInventory());
-        boolean hasItems = inventoryTakeHelper.prepareTakeItems(items);
+        return prepareTake(player) != null;
+    }
+
+    /*
+     * Returns the prepared take if the player has the items, which can be passed to takeCost() to avoid scanning the inventory again.
+     */
+    public @Nullable InventoryTakeHelper prepareTake(Player player) {
+        InventoryTakeHelper inventoryTakeHelper = new InventoryTakeHelper(player.getInventory(), materials);
+        boolean hasItems = inventoryTakeHelper.prepareTakeItems(itemsInTakeOrder);
 
         if (!hasItems) {
             for (RequiredItem item : items) {
@@ -32,18 +57,28 @@ public class RequiredItems implements Requirement {
                         .replace("{amount}", Integer.toString(item.getAmount()))
                         .replace("{durability}", item.hasRestrictiveDurability() ? Short.toString(item.getDurability()) : Lang.any));
             }
+            return null;
         }
         
-        return hasItems;
+        return inventoryTakeHelper;
     }
 
     @Override
     public boolean takeCost(Player player) {
-        InventoryTakeHelper inventoryTakeHelper = new InventoryTakeHelper(player.getInventory());
-        boolean hasItems = inventoryTakeHelper.prepareTakeItems(items);
+        return takeCost(player, null);
+    }
 
-        if (!hasItems) {
-            return false;
+    public boolean takeCost(Player player, @Nullable InventoryTakeHelper preparedTake) {
+        InventoryTakeHelper inventoryTakeHelper = preparedTake;
+
+        // The inventory may have changed since the preparation, for example while taking the other costs
+        if (inventoryTakeHelper == null || !inventoryTakeHelper.isPreparationApplicable()) {
+            inventoryTakeHelper = new InventoryTakeHelper(player.getInventory(), materials);
+            boolean hasItems = inventoryTakeHelper.prepareTakeItems(itemsInTakeOrder);
+
+            if (!hasItems) {
+                return false;
+            }
         }
         
         inventoryTakeHelper.applyTakeItems();
@@ -7,39 +7,124 @@ package me.filoghost.chestcommands.inventory;
 
 import me.filoghost.chestcommands.api.Icon;
 import me.filoghost.chestcommands.api.MenuView;
+import me.filoghost.chestcommands.icon.BaseConfigurableIcon;
 import me.filoghost.chestcommands.icon.RefreshableIcon;
 import me.filoghost.chestcommands.menu.BaseMenu;
+import me.filoghost.chestcommands.stats.PluginStats;
+import me.filoghost.chestcommands.stats.Profiler;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Objects;
+import java.util.function.Predicate;
+
 public class DefaultMenuView implements MenuView {
 
+    public static final Predicate<Icon> ALL_ICONS = icon -> true;
+
     private final BaseMenu menu;
     private final Player viewer;
     private final InventoryGrid bukkitInventory;
+    private final ItemStack[] renderedItems;
+    private final Icon[] renderedIcons;
+    private final int[] renderedVersions;
 
     public DefaultMenuView(@NotNull BaseMenu menu, @NotNull Player viewer) {
         this.menu = menu;
         this.viewer = viewer;
         this.bukkitInventory = new InventoryGrid(new MenuInventoryHolder(this), menu.getRows(), menu.getTitle());
-        refresh();
+        this.renderedItems = new ItemStack[bukkitInventory.getSize()];
+        this.renderedIcons = new Icon[bukkitInventory.getSize()];
+        this.renderedVersions = new int[bukkitInventory.getSize()];
+        refreshSlots(ALL_ICONS);
     }
 
     @Override
     public void refresh() {
+        refresh(ALL_ICONS);
+    }
+
+    /*
+     * Refreshes only the slots whose icon matches the filter, the other slots keep their current rendering.
+     */
+    public void refresh(Predicate<Icon> iconFilter) {
+        PluginStats.recordMenuRefresh(menu);
+        refreshSlots(iconFilter);
+    }
+
+    private void refreshSlots(Predicate<Icon> iconFilter) {
         for (int i = 0; i < menu.getIcons().getSize(); i++) {
             Icon icon = menu.getIcons().getByIndex(i);
+            if (!iconFilter.test(icon)) {
+                continue;
+            }
+
+            ItemStack newItemStack;
 
             if (icon == null) {
-                bukkitInventory.setByIndex(i, null);
-            } else if (icon instanceof RefreshableIcon) {
-                ItemStack newItemStack = ((RefreshableIcon) icon).updateRendering(viewer, bukkitInventory.getByIndex(i));
-                bukkitInventory.setByIndex(i, newItemStack);
+                newItemStack = null;
             } else {
-                bukkitInventory.setByIndex(i, icon.render(viewer));
+                long renderStart = PluginStats.startTimer();
+                long profilerStart = Profiler.startTimer();
+                if (icon instanceof RefreshableIcon) {
+                    newItemStack = ((RefreshableIcon) icon).updateRendering(viewer, isRenderingCurrent(i, icon) ? renderedItems[i] : null);
+                } else {
+                    newItemStack = icon.render(viewer);
+                }
+                Profiler.recordIconRender(menu, icon, profilerStart);
+                PluginStats.recordIconRender(icon, renderStart);
             }
+
+            updateSlot(i, icon, newItemStack);
+        }
+    }
+
+    /*
+     * Used when the icon has already been rendered for this viewer, together with other viewers.
+     */
+    public void refreshSlot(int slot, @Nullable ItemStack newItemStack) {
+        updateSlot(slot, menu.getIcons().getByIndex(slot), newItemStack);
+    }
+
+    private void updateSlot(int slot, @Nullable Icon icon, @Nullable ItemStack newItemStack) {
+        ItemStack renderedItem = renderedItems[slot];
+        boolean renderingCurrent = isRenderingCurrent(slot, icon);
+        if (newItemStack == renderedItem && renderingCurrent) {
+            return; // Usually the same instance, shared through the render cache
+        }
+
+        boolean equalItem = Objects.equals(newItemStack, renderedItem);
+        if (equalItem && renderingCurrent && !(icon instanceof BaseConfigurableIcon)) {
+            return;
+        }
+
+        if (!equalItem) {
+            // Equal items, for example renderings which are not cached or were evicted, are not sent to the viewer again
+            bukkitInventory.setByIndex(slot, newItemStack);
+        }
+        renderedIcons[slot] = icon;
+
+        if (icon instanceof BaseConfigurableIcon) {
+            // Configurable icons never modify the items they rendered, no need for a copy
+            renderedItems[slot] = newItemStack;
+            renderedVersions[slot] = ((BaseConfigurableIcon) icon).getRenderVersion();
+        } else {
+            // Keep a private copy, the rendered item may be modified later by its owner
+            renderedItems[slot] = newItemStack != null ? newItemStack.clone() : null;
+        }
+    }
+
+    private boolean isRenderingCurrent(int slot, @Nullable Icon icon) {
+        if (renderedIcons[slot] != icon) {
+            return false;
+        }
+
+        if (icon instanceof BaseConfigurableIcon) {
+            return renderedVersions[slot] == ((BaseConfigurableIcon) icon).getRenderVersion();
+        } else {
+            return true;
         }
     }
 
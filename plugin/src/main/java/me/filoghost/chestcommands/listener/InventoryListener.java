@@ -5,32 +5,35 @@
  */
 package me.filoghost.chestcommands.listener;
 
-import me.filoghost.chestcommands.ChestCommands;
 import me.filoghost.chestcommands.api.Icon;
-import me.filoghost.chestcommands.api.Menu;
 import me.filoghost.chestcommands.config.Settings;
+import me.filoghost.chestcommands.icon.InternalConfigurableIcon;
 import me.filoghost.chestcommands.inventory.DefaultMenuView;
-import me.filoghost.chestcommands.logging.Errors;
+import me.filoghost.chestcommands.menu.ClickLimit;
+import me.filoghost.chestcommands.menu.ClickRateLimiter;
 import me.filoghost.chestcommands.menu.InternalMenu;
 import me.filoghost.chestcommands.menu.MenuManager;
-import me.filoghost.fcommons.logging.Log;
-import org.bukkit.Bukkit;
-import org.bukkit.ChatColor;
+import me.filoghost.chestcommands.task.ClickQueue;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.block.Action;
 import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryOpenEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.inventory.Inventory;
 
-import java.util.Map;
-import java.util.WeakHashMap;
-
 public class InventoryListener implements Listener {
 
-    private final Map<Player, Long> antiClickSpam = new WeakHashMap<>();
+    private final ClickQueue clickQueue;
+    private final ClickRateLimiter clickRateLimiter = new ClickRateLimiter();
+
+    public InventoryListener(ClickQueue clickQueue) {
+        this.clickQueue = clickQueue;
+    }
 
 
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = false)
@@ -66,39 +69,43 @@ public class InventoryListener implements Listener {
             return;
         }
 
-        Long cooldownUntil = antiClickSpam.get(clicker);
-        long now = System.currentTimeMillis();
-        int minDelay = Settings.anti_click_spam_delay;
-
-        if (minDelay > 0) {
-            if (cooldownUntil != null && cooldownUntil > now) {
-                return;
-            } else {
-                antiClickSpam.put(clicker, now + minDelay);
+        ClickLimit menuLimit = null;
+        ClickLimit iconLimit = null;
+        if (menuView.getMenu() instanceof InternalMenu) {
+            menuLimit = ((InternalMenu) menuView.getMenu()).getClickLimit();
+            if (icon instanceof InternalConfigurableIcon) {
+                iconLimit = ((InternalConfigurableIcon) icon).getClickLimit();
             }
         }
 
+        long now = System.currentTimeMillis();
+        if (!clickRateLimiter.tryClick(clicker.getUniqueId(), now, Settings.anti_click_spam_delay, menuLimit, iconLimit)) {
+            return;
+        }
+
         // Only handle the click AFTER the event has finished
-        Bukkit.getScheduler().runTask(ChestCommands.getInstance(), () -> {
-            try {
-                icon.onClick(menuView, clicker);
-            } catch (Throwable t) {
-                handleIconClickException(clicker, menuView.getMenu(), t);
-                menuView.close();
-            }
-        });
+        clickQueue.add(menuView, icon, clicker);
     }
 
-    private void handleIconClickException(Player clicker, Menu menu, Throwable throwable) {
-        String menuDescription;
-        if (menu.getPlugin() == ChestCommands.getInstance()) {
-            menuDescription = "the menu \"" + Errors.formatPath(((InternalMenu) menu).getSourceFile()) + "\"";
-        } else {
-            menuDescription = "a menu created by the plugin \"" + menu.getPlugin().getName() + "\"";
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryOpen(InventoryOpenEvent event) {
+        DefaultMenuView menuView = MenuManager.getOpenMenuView(event.getInventory());
+        if (menuView != null) {
+            MenuManager.onMenuViewOpen(menuView);
         }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onInventoryClose(InventoryCloseEvent event) {
+        DefaultMenuView menuView = MenuManager.getOpenMenuView(event.getInventory());
+        if (menuView != null) {
+            MenuManager.onMenuViewClose(menuView);
+        }
+    }
 
-        Log.severe("Encountered an exception while handling a click inside " + menuDescription, throwable);
-        clicker.sendMessage(ChatColor.RED + "An internal error occurred when you clicked on the item.");
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        clickRateLimiter.remove(event.getPlayer().getUniqueId());
     }
 
 }
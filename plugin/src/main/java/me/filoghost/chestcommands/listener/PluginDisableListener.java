@@ -0,0 +1,22 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.chestcommands.listener;
+
+import me.filoghost.chestcommands.action.PluginActionRegistry;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginDisableEvent;
+
+public class PluginDisableListener implements Listener {
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPluginDisable(PluginDisableEvent event) {
+        // The handlers would keep the classes of the disabled plugin loaded, and could still be executed
+        PluginActionRegistry.unregisterAll(event.getPlugin());
+    }
+
+}
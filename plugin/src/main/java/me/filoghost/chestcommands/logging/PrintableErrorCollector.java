@@ -23,6 +23,16 @@ import java.util.List;
 public class PrintableErrorCollector extends ErrorCollector {
 
 
+    /*
+     * Used by tasks running on other threads, which collect their errors separately:
+     * they are added later to the main collector, in a deterministic order.
+     */
+    public void addTo(ErrorCollector errorCollector) {
+        for (ErrorLog error : errors) {
+            errorCollector.add(error.getCause(), error.getMessage().asList().toArray(new String[0]));
+        }
+    }
+
     @Override
     public void logToConsole() {
         StringBuilder output = new StringBuilder();
@@ -11,17 +11,26 @@ import me.filoghost.chestcommands.api.MenuView;
 import me.filoghost.chestcommands.inventory.ArrayGrid;
 import me.filoghost.chestcommands.inventory.DefaultMenuView;
 import me.filoghost.chestcommands.inventory.Grid;
+import me.filoghost.chestcommands.stats.PluginStats;
+import me.filoghost.chestcommands.stats.Profiler;
 import me.filoghost.fcommons.Preconditions;
-import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
 public abstract class BaseMenu implements Menu {
 
 
     private final String title;
     private final Grid<Icon> icons;
+    private final Set<DefaultMenuView> openViews; // Maintained by MenuManager, when inventories are opened and closed
 
 
     public BaseMenu(@NotNull String title, int rows) {
@@ -29,6 +38,7 @@ public abstract class BaseMenu implements Menu {
         Preconditions.checkArgument(rows > 0, "rows must be greater than 0");
         this.title = title;
         this.icons = new ArrayGrid<>(rows, 9);
+        this.openViews = ConcurrentHashMap.newKeySet();
     }
 
     @Override
@@ -52,14 +62,61 @@ public abstract class BaseMenu implements Menu {
 
     @Override
     public void refreshOpenViews() {
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            DefaultMenuView menuView = MenuManager.getOpenMenuView(player);
-            if (menuView != null && menuView.getMenu() == this) {
-                menuView.refresh();
+        refreshOpenViews(DefaultMenuView.ALL_ICONS);
+    }
+
+    /*
+     * Refreshes only the slots whose icon matches the filter, the other slots keep their current rendering.
+     */
+    public void refreshOpenViews(Predicate<Icon> iconFilter) {
+        // Copied, since refreshing may cause views to be closed
+        List<DefaultMenuView> menuViews = new ArrayList<>(openViews);
+        List<Player> viewers = new ArrayList<>(menuViews.size());
+        for (DefaultMenuView menuView : menuViews) {
+            viewers.add(menuView.getViewer());
+        }
+
+        if (menuViews.isEmpty()) {
+            return;
+        } else if (menuViews.size() == 1) {
+            menuViews.get(0).refresh(iconFilter);
+            return;
+        }
+
+        // Counted once for each view, like the refresh of a single view above
+        PluginStats.recordMenuRefresh(this, menuViews.size());
+
+        // Render each icon for all the viewers at once
+        for (int slot = 0; slot < icons.getSize(); slot++) {
+            Icon icon = icons.getByIndex(slot);
+            if (!iconFilter.test(icon)) {
+                continue;
+            }
+
+            List<ItemStack> renderings = null;
+
+            if (icon != null) {
+                long renderStart = PluginStats.startTimer();
+                long profilerStart = Profiler.startTimer();
+                renderings = icon.renderAll(viewers);
+                Profiler.recordIconRender(this, icon, profilerStart, viewers.size());
+                PluginStats.recordIconRender(icon, renderStart, viewers.size());
+            }
+
+            for (int i = 0; i < menuViews.size(); i++) {
+                menuViews.get(i).refreshSlot(slot, renderings != null ? renderings.get(i) : null);
             }
         }
     }
 
+    void addOpenView(DefaultMenuView menuView) {
+        openViews.add(menuView);
+    }
+
+    void removeOpenView(DefaultMenuView menuView) {
+        openViews.remove(menuView);
+    }
+
     @Override
     public int getRows() {
         return icons.getRows();
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.chestcommands.menu;
+
+import me.filoghost.fcommons.Preconditions;
+
+/*
+ * A token bucket allowing a burst of "clicks" clicks, refilled at the rate of "clicks" every "periodMillis".
+ * The state of the bucket is stored by ClickRateLimiter, for each player and for each state key.
+ */
+public class ClickLimit {
+
+    private final int clicks;
+    private final long periodMillis;
+    private final long emissionIntervalMillis;
+    private final String stateKey;
+
+    public ClickLimit(int clicks, long periodMillis) {
+        this(clicks, periodMillis, null);
+    }
+
+    private ClickLimit(int clicks, long periodMillis, String stateKey) {
+        Preconditions.checkArgument(clicks > 0, "clicks must be greater than zero");
+        Preconditions.checkArgument(periodMillis > 0, "periodMillis must be greater than zero");
+        this.clicks = clicks;
+        this.periodMillis = periodMillis;
+        this.emissionIntervalMillis = Math.max(1, periodMillis / clicks);
+        this.stateKey = stateKey;
+    }
+
+    /*
+     * The key identifies the state of the limit, and must not change when menus are reloaded (such as the menu file and the slot),
+     * so that reloading doesn't reset the clicks. It's computed once when the menu is loaded, not on each click.
+     */
+    public ClickLimit withStateKey(String stateKey) {
+        return new ClickLimit(clicks, periodMillis, stateKey);
+    }
+
+    public String getStateKey() {
+        return stateKey;
+    }
+
+    public int getClicks() {
+        return clicks;
+    }
+
+    public long getPeriodMillis() {
+        return periodMillis;
+    }
+
+    /*
+     * Generic cell rate algorithm: instead of storing the tokens left, only the "theoretical arrival time"
+     * of the next click is stored, which is enough to tell how many tokens are left at any given time.
+     * Returns the new theoretical arrival time, or -1 if the bucket is empty.
+     */
+    long tryConsume(long theoreticalArrivalTime, long now) {
+        long nextArrivalTime = Math.max(theoreticalArrivalTime, now) + emissionIntervalMillis;
+        if (nextArrivalTime - now > periodMillis) {
+            return -1;
+        }
+        return nextArrivalTime;
+    }
+
+}
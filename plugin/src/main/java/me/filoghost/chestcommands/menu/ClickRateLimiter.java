@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.chestcommands.menu;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/*
+ * Tracks the clicks of each player, it must only be used from the main thread (where inventory clicks are handled).
+ * The state of a player must be removed explicitly when the player quits.
+ */
+public class ClickRateLimiter {
+
+    private final Map<UUID, PlayerClickState> clickStates = new HashMap<>();
+
+    /*
+     * Returns true if the click is allowed by the minimum delay between clicks and by the (nullable) limits.
+     * The state of each limit is identified by its state key, which doesn't change when menus are reloaded.
+     * A click is consumed only if allowed by all of them, a rejected click doesn't count towards any limit.
+     */
+    public boolean tryClick(UUID playerUUID, long now, int minDelayMillis, ClickLimit menuLimit, ClickLimit iconLimit) {
+        PlayerClickState clickState = clickStates.get(playerUUID);
+        if (clickState == null) {
+            clickState = new PlayerClickState();
+            clickStates.put(playerUUID, clickState);
+        }
+        return clickState.tryClick(now, minDelayMillis, menuLimit, iconLimit);
+    }
+
+    public void remove(UUID playerUUID) {
+        clickStates.remove(playerUUID);
+    }
+
+
+    private static class PlayerClickState {
+
+        private final Map<String, LimitState> limitStates = new HashMap<>();
+        private long cooldownUntil = Long.MIN_VALUE;
+
+        private boolean tryClick(long now, int minDelayMillis, ClickLimit menuLimit, ClickLimit iconLimit) {
+            if (minDelayMillis > 0 && cooldownUntil > now) {
+                return false;
+            }
+
+            LimitState menuLimitState = null;
+            long menuArrivalTime = 0;
+            if (menuLimit != null) {
+                menuLimitState = getLimitState(menuLimit);
+                menuArrivalTime = menuLimit.tryConsume(menuLimitState.theoreticalArrivalTime, now);
+                if (menuArrivalTime < 0) {
+                    return false;
+                }
+            }
+
+            LimitState iconLimitState = null;
+            long iconArrivalTime = 0;
+            if (iconLimit != null) {
+                iconLimitState = getLimitState(iconLimit);
+                iconArrivalTime = iconLimit.tryConsume(iconLimitState.theoreticalArrivalTime, now);
+                if (iconArrivalTime < 0) {
+                    return false;
+                }
+            }
+
+            // All the checks passed, consume the click
+            if (minDelayMillis > 0) {
+                cooldownUntil = now + minDelayMillis;
+            }
+            if (menuLimitState != null) {
+                menuLimitState.theoreticalArrivalTime = menuArrivalTime;
+            }
+            if (iconLimitState != null) {
+                iconLimitState.theoreticalArrivalTime = iconArrivalTime;
+            }
+            return true;
+        }
+
+        private LimitState getLimitState(ClickLimit clickLimit) {
+            // Created once for each limit, then only its primitive field is updated
+            return limitStates.computeIfAbsent(clickLimit.getStateKey(), key -> new LimitState());
+        }
+
+    }
+
+
+    private static class LimitState {
+
+        private long theoreticalArrivalTime = Long.MIN_VALUE;
+
+    }
+
+}
@@ -27,6 +27,7 @@ public class InternalMenu extends BaseMenu {
 
     private ImmutableList<Action> openActions;
     private int refreshTicks;
+    private ClickLimit clickLimit;
 
     public InternalMenu(@NotNull String title, int rows, @NotNull Path sourceFile) {
         super(title, rows);
@@ -54,6 +55,14 @@ public class InternalMenu extends BaseMenu {
         this.refreshTicks = refreshTicks;
     }
 
+    public ClickLimit getClickLimit() {
+        return clickLimit;
+    }
+
+    public void setClickLimit(ClickLimit clickLimit) {
+        this.clickLimit = clickLimit;
+    }
+
     @Override
     public @NotNull MenuView open(@NotNull Player player) {
         if (openActions != null) {
@@ -5,14 +5,13 @@
  */
 package me.filoghost.chestcommands.menu;
 
+import me.filoghost.chestcommands.api.Icon;
 import me.filoghost.chestcommands.inventory.DefaultMenuView;
 import me.filoghost.chestcommands.inventory.MenuInventoryHolder;
 import me.filoghost.chestcommands.logging.Errors;
 import me.filoghost.chestcommands.parsing.menu.LoadedMenu;
-import me.filoghost.chestcommands.parsing.menu.MenuOpenItem;
 import me.filoghost.fcommons.collection.CaseInsensitiveMap;
 import me.filoghost.fcommons.logging.ErrorCollector;
-import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.block.Action;
 import org.bukkit.inventory.Inventory;
@@ -20,18 +19,34 @@ import org.bukkit.inventory.InventoryView;
 import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.Nullable;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
 
 public class MenuManager {
 
+    private static final Map<Path, LoadedMenu> loadedMenus = new LinkedHashMap<>();
     private static final Map<String, InternalMenu> menusByFile = new CaseInsensitiveMap<>();
     private static final Map<String, InternalMenu> menusByOpenCommand = new CaseInsensitiveMap<>();
-    private static final Map<MenuOpenItem, InternalMenu> menusByOpenItem = new HashMap<>();
+    private static final OpenItemIndex menusByOpenItem = new OpenItemIndex();
+    private static final Map<Player, DefaultMenuView> openMenuViews = new HashMap<>();
+    private static final MenuRefreshScheduler refreshScheduler = new MenuRefreshScheduler();
 
     public static void reset() {
+        loadedMenus.clear();
+        clearIndexes();
+    }
+
+    private static void clearIndexes() {
         menusByFile.clear();
         menusByOpenCommand.clear();
         menusByOpenItem.clear();
@@ -42,11 +57,51 @@ public class MenuManager {
     }
 
     public static void registerMenu(LoadedMenu loadedMenu, ErrorCollector errorCollector) {
+        loadedMenus.put(loadedMenu.getSourceFile(), loadedMenu);
+        indexMenu(loadedMenu, errorCollector, menu -> true);
+    }
+
+    /*
+     * Replaces the menus loaded from the given files, keeping all the other menus (and their open views) untouched.
+     * The outdated files without a new menu (deleted or no longer valid) are unregistered.
+     * Only the conflicts involving the new menus are reported, the others were already reported when loading.
+     */
+    public static void replaceMenus(Collection<Path> outdatedFiles, List<LoadedMenu> newMenus, ErrorCollector errorCollector) {
+        Set<InternalMenu> outdatedMenus = new HashSet<>();
+        Set<InternalMenu> replacingMenus = new HashSet<>();
+        for (Path outdatedFile : outdatedFiles) {
+            LoadedMenu outdatedMenu = loadedMenus.remove(outdatedFile);
+            if (outdatedMenu != null) {
+                outdatedMenus.add(outdatedMenu.getMenu());
+            }
+        }
+        for (LoadedMenu newMenu : newMenus) {
+            replacingMenus.add(newMenu.getMenu());
+            LoadedMenu outdatedMenu = loadedMenus.put(newMenu.getSourceFile(), newMenu);
+            if (outdatedMenu != null) {
+                outdatedMenus.add(outdatedMenu.getMenu());
+            }
+        }
+
+        for (DefaultMenuView menuView : new ArrayList<>(openMenuViews.values())) {
+            if (outdatedMenus.contains(menuView.getMenu())) {
+                menuView.close();
+            }
+        }
+
+        // Rebuilding the indexes is cheap compared to parsing, and keeps the same conflict resolution of a full load
+        clearIndexes();
+        for (LoadedMenu loadedMenu : loadedMenus.values()) {
+            indexMenu(loadedMenu, errorCollector, replacingMenus::contains);
+        }
+    }
+
+    private static void indexMenu(LoadedMenu loadedMenu, ErrorCollector errorCollector, Predicate<InternalMenu> reportConflicts) {
         InternalMenu menu = loadedMenu.getMenu();
 
         String fileName = loadedMenu.getSourceFile().getFileName().toString();
         InternalMenu sameNameMenu = menusByFile.get(fileName);
-        if (sameNameMenu != null) {
+        if (sameNameMenu != null && (reportConflicts.test(sameNameMenu) || reportConflicts.test(menu))) {
             errorCollector.add(Errors.Menu.duplicateMenuName(sameNameMenu.getSourceFile(), loadedMenu.getSourceFile()));
         }
         menusByFile.put(fileName, menu);
@@ -55,7 +110,7 @@ public class MenuManager {
             for (String openCommand : loadedMenu.getOpenCommands()) {
                 if (!openCommand.isEmpty()) {
                     InternalMenu sameCommandMenu = menusByOpenCommand.get(openCommand);
-                    if (sameCommandMenu != null) {
+                    if (sameCommandMenu != null && (reportConflicts.test(sameCommandMenu) || reportConflicts.test(menu))) {
                         errorCollector.add(Errors.Menu.duplicateMenuCommand(sameCommandMenu.getSourceFile(), loadedMenu.getSourceFile(), openCommand));
                     }
                     menusByOpenCommand.put(openCommand, menu);
@@ -69,11 +124,7 @@ public class MenuManager {
     }
 
     public static void openMenuByItem(Player player, ItemStack itemInHand, Action clickAction) {
-        menusByOpenItem.forEach((openItem, menu) -> {
-            if (openItem.matches(itemInHand, clickAction)) {
-                menu.openCheckingPermission(player);
-            }
-        });
+        menusByOpenItem.forEachMatch(itemInHand, clickAction, menu -> menu.openCheckingPermission(player));
     }
 
     public static InternalMenu getMenuByOpenCommand(String openCommand) {
@@ -88,15 +139,58 @@ public class MenuManager {
         return getMenuInventoryHolder(inventory) != null;
     }
 
-    public static void closeAllOpenMenuViews() {
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            DefaultMenuView openMenuView = getOpenMenuView(player);
-            if (openMenuView != null) {
-                openMenuView.close();
+    public static void onMenuViewOpen(DefaultMenuView menuView) {
+        DefaultMenuView previousMenuView = openMenuViews.put(menuView.getViewer(), menuView);
+        if (previousMenuView != null && previousMenuView != menuView) {
+            refreshScheduler.cancel(previousMenuView);
+            previousMenuView.getMenu().removeOpenView(previousMenuView);
+        }
+        menuView.getMenu().addOpenView(menuView);
+
+        if (menuView.getMenu() instanceof InternalMenu) {
+            int refreshTicks = ((InternalMenu) menuView.getMenu()).getRefreshTicks();
+            if (refreshTicks > 0) {
+                refreshScheduler.schedule(menuView, refreshTicks);
             }
         }
     }
 
+    public static void onMenuViewClose(DefaultMenuView menuView) {
+        openMenuViews.remove(menuView.getViewer(), menuView);
+        menuView.getMenu().removeOpenView(menuView);
+        refreshScheduler.cancel(menuView);
+    }
+
+    public static void onTick() {
+        refreshScheduler.tick();
+    }
+
+    public static void refreshOpenMenuView(Player player, Predicate<Icon> iconFilter) {
+        DefaultMenuView menuView = openMenuViews.get(player);
+        if (menuView != null) {
+            menuView.refresh(iconFilter);
+        }
+    }
+
+    public static void refreshOpenMenuViews(Predicate<Icon> iconFilter) {
+        // The views of the same menu are refreshed together, rendering each icon once for all the viewers
+        Set<BaseMenu> menus = new LinkedHashSet<>();
+        for (DefaultMenuView menuView : openMenuViews.values()) {
+            menus.add(menuView.getMenu());
+        }
+
+        for (BaseMenu menu : menus) {
+            menu.refreshOpenViews(iconFilter);
+        }
+    }
+
+    public static void closeAllOpenMenuViews() {
+        // Copied, since closing the views removes them
+        for (DefaultMenuView menuView : new ArrayList<>(openMenuViews.values())) {
+            menuView.close();
+        }
+    }
+
     public static @Nullable DefaultMenuView getOpenMenuView(Player player) {
         InventoryView inventoryView = player.getOpenInventory();
         if (inventoryView == null) {
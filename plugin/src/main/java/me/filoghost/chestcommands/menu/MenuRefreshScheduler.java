@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.chestcommands.menu;
+
+import me.filoghost.chestcommands.inventory.DefaultMenuView;
+import me.filoghost.fcommons.logging.Log;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Hashed timing wheel: each scheduled refresh is stored in the slot of its next deadline,
+ * so that every tick only the refreshes in the current slot need to be inspected.
+ * Periods longer than the wheel simply stay in their slot for more than one rotation.
+ */
+public class MenuRefreshScheduler {
+
+    private static final int WHEEL_SIZE = 64; // Must be a power of 2
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    private final List<List<ScheduledRefresh>> wheel;
+    private final Map<DefaultMenuView, ScheduledRefresh> scheduledRefreshes;
+    private List<ScheduledRefresh> spareSlot;
+    private long currentTick;
+
+    public MenuRefreshScheduler() {
+        this.wheel = new ArrayList<>(WHEEL_SIZE);
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel.add(new ArrayList<>());
+        }
+        this.scheduledRefreshes = new HashMap<>();
+        this.spareSlot = new ArrayList<>();
+    }
+
+    public void schedule(DefaultMenuView menuView, int refreshTicks) {
+        cancel(menuView);
+
+        ScheduledRefresh scheduledRefresh = new ScheduledRefresh(menuView, refreshTicks, currentTick + refreshTicks);
+        scheduledRefreshes.put(menuView, scheduledRefresh);
+        insert(scheduledRefresh);
+    }
+
+    public void cancel(DefaultMenuView menuView) {
+        ScheduledRefresh scheduledRefresh = scheduledRefreshes.remove(menuView);
+        if (scheduledRefresh != null) {
+            // Lazily removed from the wheel when its slot is reached
+            scheduledRefresh.cancelled = true;
+        }
+    }
+
+    public void tick() {
+        currentTick++;
+
+        int slotIndex = (int) (currentTick & WHEEL_MASK);
+        List<ScheduledRefresh> dueSlot = wheel.get(slotIndex);
+        if (dueSlot.isEmpty()) {
+            return;
+        }
+
+        // Swap in an empty slot, so that refreshes can be rescheduled in the same slot while iterating
+        wheel.set(slotIndex, spareSlot);
+
+        for (ScheduledRefresh scheduledRefresh : dueSlot) {
+            if (scheduledRefresh.cancelled) {
+                continue;
+            }
+
+            if (scheduledRefresh.deadline > currentTick) {
+                // Not due in this rotation of the wheel
+                insert(scheduledRefresh);
+                continue;
+            }
+
+            DefaultMenuView menuView = scheduledRefresh.menuView;
+            if (!menuView.getViewer().isOnline()) {
+                scheduledRefreshes.remove(menuView);
+                continue;
+            }
+
+            try {
+                menuView.refresh();
+            } catch (Throwable t) {
+                Log.severe("Encountered an exception while refreshing a menu", t);
+            }
+
+            // The refresh may have cancelled this same entry (for example by closing the menu)
+            if (!scheduledRefresh.cancelled) {
+                scheduledRefresh.deadline = currentTick + scheduledRefresh.refreshTicks;
+                insert(scheduledRefresh);
+            }
+        }
+
+        dueSlot.clear();
+        spareSlot = dueSlot;
+    }
+
+    private void insert(ScheduledRefresh scheduledRefresh) {
+        wheel.get((int) (scheduledRefresh.deadline & WHEEL_MASK)).add(scheduledRefresh);
+    }
+
+
+    private static class ScheduledRefresh {
+
+        private final DefaultMenuView menuView;
+        private final int refreshTicks;
+        private long deadline;
+        private boolean cancelled;
+
+        private ScheduledRefresh(DefaultMenuView menuView, int refreshTicks, long deadline) {
+            this.menuView = menuView;
+            this.refreshTicks = refreshTicks;
+            this.deadline = deadline;
+        }
+
+    }
+
+}
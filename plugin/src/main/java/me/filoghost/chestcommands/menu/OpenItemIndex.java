@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.chestcommands.menu;
+
+import me.filoghost.chestcommands.parsing.menu.MenuOpenItem;
+import org.bukkit.Material;
+import org.bukkit.event.block.Action;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/*
+ * Open items indexed by material and then by durability, so that interacting with
+ * an item which doesn't open any menu only costs a single map lookup.
+ */
+public class OpenItemIndex {
+
+    private final Map<Material, MaterialEntries> entriesByMaterial = new EnumMap<>(Material.class);
+
+    public void put(MenuOpenItem openItem, InternalMenu menu) {
+        MaterialEntries materialEntries = entriesByMaterial.computeIfAbsent(openItem.getMaterial(), material -> new MaterialEntries());
+        OpenItemEntry entry = new OpenItemEntry(openItem, menu);
+
+        if (openItem.isRestrictiveDurability()) {
+            materialEntries.byDurability.computeIfAbsent(openItem.getDurability(), durability -> new ArrayList<>()).add(entry);
+        } else {
+            materialEntries.anyDurability.add(entry);
+        }
+    }
+
+    public void clear() {
+        entriesByMaterial.clear();
+    }
+
+    public void forEachMatch(ItemStack item, Action action, Consumer<InternalMenu> matchConsumer) {
+        if (item == null) {
+            return;
+        }
+
+        MaterialEntries materialEntries = entriesByMaterial.get(item.getType());
+        if (materialEntries == null) {
+            return;
+        }
+
+        if (!materialEntries.byDurability.isEmpty()) {
+            List<OpenItemEntry> durabilityEntries = materialEntries.byDurability.get(item.getDurability());
+            if (durabilityEntries != null) {
+                forEachMatch(durabilityEntries, action, matchConsumer);
+            }
+        }
+
+        forEachMatch(materialEntries.anyDurability, action, matchConsumer);
+    }
+
+    private void forEachMatch(List<OpenItemEntry> entries, Action action, Consumer<InternalMenu> matchConsumer) {
+        for (OpenItemEntry entry : entries) {
+            if (entry.openItem.getClickType().isValidInteract(action)) {
+                matchConsumer.accept(entry.menu);
+            }
+        }
+    }
+
+
+    private static class MaterialEntries {
+
+        private final Map<Short, List<OpenItemEntry>> byDurability = new HashMap<>();
+        private final List<OpenItemEntry> anyDurability = new ArrayList<>();
+
+    }
+
+    private static class OpenItemEntry {
+
+        private final MenuOpenItem openItem;
+        private final InternalMenu menu;
+
+        private OpenItemEntry(MenuOpenItem openItem, InternalMenu menu) {
+            this.openItem = openItem;
+            this.menu = menu;
+        }
+
+    }
+
+}
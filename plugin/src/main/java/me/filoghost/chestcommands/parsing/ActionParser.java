@@ -5,8 +5,7 @@
  */
 package me.filoghost.chestcommands.parsing;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Map;
 import me.filoghost.chestcommands.action.Action;
 import me.filoghost.chestcommands.action.BroadcastAction;
 import me.filoghost.chestcommands.action.ChangeServerAction;
@@ -18,23 +17,43 @@ import me.filoghost.chestcommands.action.OpCommandAction;
 import me.filoghost.chestcommands.action.OpenMenuAction;
 import me.filoghost.chestcommands.action.PlaySoundAction;
 import me.filoghost.chestcommands.action.PlayerCommandAction;
+import me.filoghost.chestcommands.action.PluginAction;
+import me.filoghost.chestcommands.action.PluginActionRegistry;
 import me.filoghost.chestcommands.action.SendMessageAction;
+import me.filoghost.fcommons.collection.CaseInsensitiveMap;
 
 public class ActionParser {
 
-    public static Action parse(String serializedAction) throws ParseException {
+    // <prefix, action type>, never modified after initialization
+    private static final Map<String, ActionType> actionTypesByPrefix = new CaseInsensitiveMap<>();
+    static {
         for (ActionType actionType : ActionType.values()) {
-            Matcher matcher = actionType.prefixPattern.matcher(serializedAction);
-            if (matcher.find()) {
+            actionTypesByPrefix.put(actionType.prefix, actionType);
+        }
+    }
+
+    public static Action parse(String serializedAction) throws ParseException {
+        // Non-default actions must match the format "{prefix}: {content}"
+        int prefixEnd = serializedAction.indexOf(':');
+        if (prefixEnd > 0) {
+            String prefix = serializedAction.substring(0, prefixEnd);
+            ActionType actionType = actionTypesByPrefix.get(prefix);
+
+            if (actionType != null) {
                 // Remove the action prefix and trim the spaces
-                serializedAction = matcher.replaceFirst("").trim();
-                return actionType.actionFactory.create(serializedAction);
+                return actionType.actionFactory.create(serializedAction.substring(prefixEnd + 1).trim());
+            } else if (PluginActionRegistry.isValidPrefix(prefix)) {
+                return new PluginAction(prefix, serializedAction.substring(prefixEnd + 1).trim(), serializedAction);
             }
         }
 
         return new PlayerCommandAction(serializedAction); // Default action, no match found
     }
 
+    public static boolean isBuiltInPrefix(String prefix) {
+        return actionTypesByPrefix.containsKey(prefix);
+    }
+
 
     private enum ActionType {
 
@@ -50,13 +69,12 @@ public class ActionParser {
         BOSS_BAR("dragon-bar", DragonBarAction::new);
 
 
-        private final Pattern prefixPattern;
+        private final String prefix;
         private final ActionFactory actionFactory;
 
 
         ActionType(String prefix, ActionFactory actionFactory) {
-            // Non-default actions must match the format "{prefix}: {content}"
-            this.prefixPattern = Pattern.compile("^" + Pattern.quote(prefix) + ":", Pattern.CASE_INSENSITIVE);
+            this.prefix = prefix;
             this.actionFactory = actionFactory;
         }
 
@@ -0,0 +1,27 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.chestcommands.parsing;
+
+import me.filoghost.chestcommands.logging.Errors;
+import me.filoghost.chestcommands.menu.ClickLimit;
+import me.filoghost.fcommons.Strings;
+
+public class ClickLimitParser {
+
+    public static ClickLimit parseClickLimit(String input) throws ParseException {
+        if (!input.contains("/")) {
+            throw new ParseException(Errors.Parsing.invalidClickLimitFormat);
+        }
+
+        String[] split = Strings.trimmedSplit(input, "/", 2);
+        int clicks = NumberParser.getStrictlyPositiveInteger(split[0]);
+        double seconds = NumberParser.getStrictlyPositiveDouble(split[1]);
+        long periodMillis = Math.max(1, Math.round(seconds * 1000.0));
+
+        return new ClickLimit(clicks, periodMillis);
+    }
+
+}
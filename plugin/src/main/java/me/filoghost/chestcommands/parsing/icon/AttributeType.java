@@ -10,6 +10,7 @@ import me.filoghost.chestcommands.attribute.AmountAttribute;
 import me.filoghost.chestcommands.attribute.AttributeErrorHandler;
 import me.filoghost.chestcommands.attribute.BannerColorAttribute;
 import me.filoghost.chestcommands.attribute.BannerPatternsAttribute;
+import me.filoghost.chestcommands.attribute.ClickLimitAttribute;
 import me.filoghost.chestcommands.attribute.ClickPermissionAttribute;
 import me.filoghost.chestcommands.attribute.ClickPermissionMessageAttribute;
 import me.filoghost.chestcommands.attribute.DurabilityAttribute;
@@ -54,6 +55,7 @@ public enum AttributeType {
     CLICK_PERMISSION("PERMISSION", ConfigValueType.STRING, ClickPermissionAttribute::new),
     CLICK_PERMISSION_MESSAGE("PERMISSION-MESSAGE", ConfigValueType.STRING, ClickPermissionMessageAttribute::new),
     VIEW_PERMISSION("VIEW-PERMISSION", ConfigValueType.STRING, ViewPermissionAttribute::new),
+    CLICK_LIMIT("CLICK-LIMIT", ConfigValueType.STRING, ClickLimitAttribute::new),
     KEEP_OPEN("KEEP-OPEN", ConfigValueType.BOOLEAN, KeepOpenAttribute::new),
     ACTIONS("ACTIONS", ConfigValueType.STRING_LIST, ActionsAttribute::new),
     ENCHANTMENTS("ENCHANTMENTS", ConfigValueType.STRING_LIST, EnchantmentsAttribute::new),
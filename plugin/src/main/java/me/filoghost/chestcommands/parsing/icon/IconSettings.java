@@ -38,6 +38,7 @@ public class IconSettings {
 
     public InternalConfigurableIcon createIcon() {
         InternalConfigurableIcon icon = new InternalConfigurableIcon(Material.BEDROCK);
+        icon.setIconName(iconName);
 
         for (IconAttribute attribute : validAttributes.values()) {
             attribute.apply(icon);
@@ -30,6 +30,22 @@ public class MenuOpenItem {
         this.isRestrictiveDurability = true;
     }
 
+    public Material getMaterial() {
+        return material;
+    }
+
+    public ClickType getClickType() {
+        return clickType;
+    }
+
+    public short getDurability() {
+        return durability;
+    }
+
+    public boolean isRestrictiveDurability() {
+        return isRestrictiveDurability;
+    }
+
     public boolean matches(ItemStack item, Action action) {
         if (item == null) {
             return false;
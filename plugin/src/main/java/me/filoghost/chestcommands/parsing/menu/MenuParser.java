@@ -8,9 +8,11 @@ package me.filoghost.chestcommands.parsing.menu;
 import me.filoghost.chestcommands.action.Action;
 import me.filoghost.chestcommands.action.DisabledAction;
 import me.filoghost.chestcommands.attribute.PositionAttribute;
+import me.filoghost.chestcommands.icon.InternalConfigurableIcon;
 import me.filoghost.chestcommands.logging.Errors;
 import me.filoghost.chestcommands.menu.InternalMenu;
 import me.filoghost.chestcommands.parsing.ActionParser;
+import me.filoghost.chestcommands.parsing.ClickLimitParser;
 import me.filoghost.chestcommands.parsing.ItemStackParser;
 import me.filoghost.chestcommands.parsing.ParseException;
 import me.filoghost.chestcommands.parsing.icon.AttributeType;
@@ -23,6 +25,7 @@ import me.filoghost.fcommons.config.exception.MissingConfigValueException;
 import me.filoghost.fcommons.logging.ErrorCollector;
 import org.bukkit.ChatColor;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -30,10 +33,14 @@ public class MenuParser {
 
 
     public static LoadedMenu loadMenu(FileConfig menuConfig, ErrorCollector errorCollector) {
-        MenuSettings menuSettings = loadMenuSettings(menuConfig, errorCollector);
-        List<IconSettings> iconSettingsList = loadIconSettingsList(menuConfig, errorCollector);
+        return loadMenu(menuConfig.getSourceFile(), menuConfig, errorCollector);
+    }
+
+    public static LoadedMenu loadMenu(Path menuFile, ConfigSection menuConfig, ErrorCollector errorCollector) {
+        MenuSettings menuSettings = loadMenuSettings(menuFile, menuConfig, errorCollector);
+        List<IconSettings> iconSettingsList = loadIconSettingsList(menuFile, menuConfig, errorCollector);
 
-        InternalMenu menu = new InternalMenu(menuSettings.getTitle(), menuSettings.getRows(), menuConfig.getSourceFile());
+        InternalMenu menu = new InternalMenu(menuSettings.getTitle(), menuSettings.getRows(), menuFile);
 
         for (IconSettings iconSettings : iconSettingsList) {
             tryAddIconToMenu(menu, iconSettings, errorCollector);
@@ -41,8 +48,11 @@ public class MenuParser {
 
         menu.setRefreshTicks(menuSettings.getRefreshTicks());
         menu.setOpenActions(menuSettings.getOpenActions());
+        if (menuSettings.getClickLimit() != null) {
+            menu.setClickLimit(menuSettings.getClickLimit().withStateKey(menuFile.toString()));
+        }
 
-        return new LoadedMenu(menu, menuConfig.getSourceFile(), menuSettings.getCommands(), menuSettings.getOpenItem());
+        return new LoadedMenu(menu, menuFile, menuSettings.getCommands(), menuSettings.getOpenItem());
     }
 
 
@@ -90,14 +100,19 @@ public class MenuParser {
             errorCollector.add(Errors.Menu.iconOverridesAnother(iconSettings));
         }
 
-        menu.setIcon(row, column, iconSettings.createIcon());
+        InternalConfigurableIcon icon = iconSettings.createIcon();
+        if (icon.getClickLimit() != null) {
+            int slot = row * menu.getColumns() + column;
+            icon.setClickLimit(icon.getClickLimit().withStateKey(menu.getSourceFile() + "#" + slot));
+        }
+        menu.setIcon(row, column, icon);
     }
 
 
-    private static MenuSettings loadMenuSettings(FileConfig config, ErrorCollector errorCollector) {
+    private static MenuSettings loadMenuSettings(Path menuFile, ConfigSection config, ErrorCollector errorCollector) {
         ConfigSection settingsSection = config.getConfigSection(MenuSettingsNode.ROOT_SECTION);
         if (settingsSection == null) {
-            errorCollector.add(Errors.Menu.missingSettingsSection(config.getSourceFile()));
+            errorCollector.add(Errors.Menu.missingSettingsSection(menuFile));
             settingsSection = new ConfigSection();
         }
 
@@ -109,7 +124,7 @@ public class MenuParser {
             }
         } catch (ConfigValueException e) {
             title = ChatColor.DARK_RED + "No name set";
-            addMenuSettingError(errorCollector, config, MenuSettingsNode.NAME, e);
+            addMenuSettingError(errorCollector, menuFile, MenuSettingsNode.NAME, e);
         }
 
         int rows;
@@ -120,7 +135,7 @@ public class MenuParser {
             }
         } catch (ConfigValueException e) {
             rows = 6; // Defaults to 6 rows
-            addMenuSettingError(errorCollector, config, MenuSettingsNode.ROWS, e);
+            addMenuSettingError(errorCollector, menuFile, MenuSettingsNode.ROWS, e);
         }
 
         MenuSettings menuSettings = new MenuSettings(title, rows);
@@ -139,7 +154,7 @@ public class MenuParser {
                         openActions.add(ActionParser.parse(serializedAction));
                     } catch (ParseException e) {
                         errorCollector.add(e, Errors.Menu.invalidSettingListElement(
-                                config.getSourceFile(), MenuSettingsNode.OPEN_ACTIONS, serializedAction));
+                                menuFile, MenuSettingsNode.OPEN_ACTIONS, serializedAction));
                         openActions.add(new DisabledAction(Errors.User.configurationError(
                                 "an action linked to opening this menu was not executed because it was not valid")));
                     }
@@ -169,7 +184,7 @@ public class MenuParser {
                     menuSettings.setOpenItem(openItem);
 
                 } catch (ParseException e) {
-                    errorCollector.add(e, Errors.Menu.invalidSetting(config.getSourceFile(), MenuSettingsNode.OPEN_ITEM_MATERIAL));
+                    errorCollector.add(e, Errors.Menu.invalidSetting(menuFile, MenuSettingsNode.OPEN_ITEM_MATERIAL));
                 }
             }
         }
@@ -182,19 +197,28 @@ public class MenuParser {
             menuSettings.setRefreshTicks(refreshTicks);
         }
 
+        String serializedClickLimit = settingsSection.getString(MenuSettingsNode.CLICK_LIMIT);
+        if (serializedClickLimit != null) {
+            try {
+                menuSettings.setClickLimit(ClickLimitParser.parseClickLimit(serializedClickLimit));
+            } catch (ParseException e) {
+                errorCollector.add(e, Errors.Menu.invalidSetting(menuFile, MenuSettingsNode.CLICK_LIMIT));
+            }
+        }
+
         return menuSettings;
     }
 
-    private static void addMenuSettingError(ErrorCollector errorCollector, FileConfig config, String missingSetting, ConfigValueException e) {
+    private static void addMenuSettingError(ErrorCollector errorCollector, Path menuFile, String missingSetting, ConfigValueException e) {
         if (e instanceof MissingConfigValueException) {
-            errorCollector.add(Errors.Menu.missingSetting(config.getSourceFile(), missingSetting));
+            errorCollector.add(Errors.Menu.missingSetting(menuFile, missingSetting));
         } else {
-            errorCollector.add(e, Errors.Menu.invalidSetting(config.getSourceFile(), missingSetting));
+            errorCollector.add(e, Errors.Menu.invalidSetting(menuFile, missingSetting));
         }
     }
 
 
-    private static List<IconSettings> loadIconSettingsList(FileConfig config, ErrorCollector errorCollector) {
+    private static List<IconSettings> loadIconSettingsList(Path menuFile, ConfigSection config, ErrorCollector errorCollector) {
         List<IconSettings> iconSettingsList = new ArrayList<>();
 
         for (String iconSectionName : config.getKeys()) {
@@ -207,7 +231,7 @@ public class MenuParser {
                 continue;
             }
 
-            IconSettings iconSettings = new IconSettings(config.getSourceFile(), iconSectionName);
+            IconSettings iconSettings = new IconSettings(menuFile, iconSectionName);
             iconSettings.loadFrom(iconSection, errorCollector);
             iconSettingsList.add(iconSettings);
         }
@@ -8,6 +8,7 @@ package me.filoghost.chestcommands.parsing.menu;
 import com.google.common.collect.ImmutableList;
 import java.util.List;
 import me.filoghost.chestcommands.action.Action;
+import me.filoghost.chestcommands.menu.ClickLimit;
 import me.filoghost.fcommons.collection.CollectionUtils;
 
 public class MenuSettings {
@@ -20,6 +21,7 @@ public class MenuSettings {
     private ImmutableList<String> commands;
     private ImmutableList<Action> openActions;
     private int refreshTicks;
+    private ClickLimit clickLimit;
 
     private MenuOpenItem openItem;
 
@@ -60,6 +62,14 @@ public class MenuSettings {
         this.refreshTicks = refreshTicks;
     }
 
+    public ClickLimit getClickLimit() {
+        return clickLimit;
+    }
+
+    public void setClickLimit(ClickLimit clickLimit) {
+        this.clickLimit = clickLimit;
+    }
+
     public MenuOpenItem getOpenItem() {
         return openItem;
     }
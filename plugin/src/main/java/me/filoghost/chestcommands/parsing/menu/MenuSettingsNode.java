@@ -16,6 +16,7 @@ public class MenuSettingsNode {
             COMMANDS = "commands",
             OPEN_ACTIONS = "open-actions",
             AUTO_REFRESH = "auto-refresh",
+            CLICK_LIMIT = "click-limit",
 
             OPEN_ITEM_MATERIAL = "open-with-item.material",
             OPEN_ITEM_LEFT_CLICK = "open-with-item.left-click",
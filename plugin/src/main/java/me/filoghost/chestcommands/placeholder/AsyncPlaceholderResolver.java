@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.chestcommands.placeholder;
+
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import me.filoghost.chestcommands.placeholder.PlaceholderCache.CachedReplacement;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.Nullable;
+
+/*
+ * Computes the replacements of async placeholders on a bounded pool of worker threads.
+ * Completed replacements are queued and applied later from the main thread.
+ */
+public class AsyncPlaceholderResolver {
+
+    private static final int WORKER_THREADS = 2;
+    private static final int MAX_QUEUED_TASKS = 512;
+
+    private final Queue<CompletedReplacement> completedReplacements;
+    private ThreadPoolExecutor executor;
+
+    public AsyncPlaceholderResolver() {
+        this.completedReplacements = new ConcurrentLinkedQueue<>();
+    }
+
+    public void submit(CachedReplacement cachedReplacement, Placeholder placeholder, @Nullable Player affectedPlayer, int cacheTicks,
+            Supplier<String> replacementGetter) {
+        if (executor == null) {
+            executor = createExecutor();
+        }
+
+        cachedReplacement.setLoading(true);
+        try {
+            executor.execute(() -> {
+                String value = replacementGetter.get();
+                completedReplacements.add(new CompletedReplacement(cachedReplacement, placeholder, affectedPlayer, cacheTicks, value));
+            });
+        } catch (RejectedExecutionException e) {
+            // Too many pending tasks, the replacement will be requested again later
+            cachedReplacement.setLoading(false);
+        }
+    }
+
+    public void pollCompletedReplacements(Consumer<CompletedReplacement> consumer) {
+        CompletedReplacement completedReplacement;
+        while ((completedReplacement = completedReplacements.poll()) != null) {
+            consumer.accept(completedReplacement);
+        }
+    }
+
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+        completedReplacements.clear();
+    }
+
+    private ThreadPoolExecutor createExecutor() {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "ChestCommands Placeholder Worker #" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        return new ThreadPoolExecutor(
+                WORKER_THREADS,
+                WORKER_THREADS,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(MAX_QUEUED_TASKS),
+                threadFactory);
+    }
+
+
+    public static class CompletedReplacement {
+
+        private final CachedReplacement cachedReplacement;
+        private final Placeholder placeholder;
+        private final Player affectedPlayer;
+        private final int cacheTicks;
+        private final String value;
+
+        private CompletedReplacement(CachedReplacement cachedReplacement, Placeholder placeholder, Player affectedPlayer, int cacheTicks,
+                String value) {
+            this.cachedReplacement = cachedReplacement;
+            this.placeholder = placeholder;
+            this.affectedPlayer = affectedPlayer;
+            this.cacheTicks = cacheTicks;
+            this.value = value;
+        }
+
+        public CachedReplacement getCachedReplacement() {
+            return cachedReplacement;
+        }
+
+        public Placeholder getPlaceholder() {
+            return placeholder;
+        }
+
+        /*
+         * Null if the replacement is shared by all players.
+         */
+        public @Nullable Player getAffectedPlayer() {
+            return affectedPlayer;
+        }
+
+        public int getCacheTicks() {
+            return cacheTicks;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+    }
+
+}
@@ -6,20 +6,24 @@
 package me.filoghost.chestcommands.placeholder;
 
 import me.filoghost.chestcommands.api.PlaceholderReplacer;
+import me.filoghost.chestcommands.api.PlaceholderScope;
+import me.filoghost.chestcommands.config.Settings;
 import me.filoghost.chestcommands.hook.VaultEconomyHook;
 import org.bukkit.Bukkit;
 
+import java.util.function.BooleanSupplier;
+
 public enum DefaultPlaceholder {
 
-    PLAYER("player", (player, argument) -> player.getName()),
+    PLAYER("player", PlaceholderScope.PLAYER, 20 * 60, (player, argument) -> player.getName()),
 
-    ONLINE("online", (player, argument) -> String.valueOf(Bukkit.getOnlinePlayers().size())),
+    ONLINE("online", PlaceholderScope.GLOBAL, 1, (player, argument) -> String.valueOf(Bukkit.getOnlinePlayers().size())),
 
-    MAX_PLAYERS("max_players", (player, argument) -> String.valueOf(Bukkit.getMaxPlayers())),
+    MAX_PLAYERS("max_players", PlaceholderScope.GLOBAL, 20, (player, argument) -> String.valueOf(Bukkit.getMaxPlayers())),
 
-    WORLD("world", (player, argument) -> player.getWorld().getName()),
+    WORLD("world", PlaceholderScope.PLAYER, 1, (player, argument) -> player.getWorld().getName()),
 
-    MONEY("money", (player, argument) -> {
+    MONEY("money", PlaceholderScope.PLAYER, 20, () -> Settings.async_money_placeholder, (player, argument) -> {
         if (VaultEconomyHook.INSTANCE.isEnabled()) {
             return VaultEconomyHook.formatMoney(VaultEconomyHook.getMoney(player));
         } else {
@@ -29,10 +33,20 @@ public enum DefaultPlaceholder {
 
 
     private final String identifier;
+    private final PlaceholderScope scope;
+    private final int cacheTicks;
+    private final BooleanSupplier asyncSetting;
     private final PlaceholderReplacer replacer;
 
-    DefaultPlaceholder(String identifier, PlaceholderReplacer replacer) {
+    DefaultPlaceholder(String identifier, PlaceholderScope scope, int cacheTicks, PlaceholderReplacer replacer) {
+        this(identifier, scope, cacheTicks, () -> false, replacer);
+    }
+
+    DefaultPlaceholder(String identifier, PlaceholderScope scope, int cacheTicks, BooleanSupplier asyncSetting, PlaceholderReplacer replacer) {
         this.identifier = identifier;
+        this.scope = scope;
+        this.cacheTicks = cacheTicks;
+        this.asyncSetting = asyncSetting;
         this.replacer = replacer;
     }
 
@@ -40,6 +54,18 @@ public enum DefaultPlaceholder {
         return identifier;
     }
 
+    public PlaceholderScope getScope() {
+        return scope;
+    }
+
+    public int getCacheTicks() {
+        return cacheTicks;
+    }
+
+    public boolean isAsync() {
+        return asyncSetting.getAsBoolean();
+    }
+
     public PlaceholderReplacer getReplacer() {
         return replacer;
     }
@@ -6,16 +6,23 @@
 package me.filoghost.chestcommands.placeholder;
 
 import me.filoghost.chestcommands.api.PlaceholderReplacer;
+import me.filoghost.chestcommands.api.PlaceholderScope;
 import org.bukkit.plugin.Plugin;
 
 public class Placeholder {
 
     private final Plugin plugin;
     private final PlaceholderReplacer placeholderReplacer;
+    private final PlaceholderScope scope;
+    private final int cacheTicks;
+    private final boolean async;
 
-    public Placeholder(Plugin plugin, PlaceholderReplacer placeholderReplacer) {
+    public Placeholder(Plugin plugin, PlaceholderReplacer placeholderReplacer, PlaceholderScope scope, int cacheTicks, boolean async) {
         this.plugin = plugin;
         this.placeholderReplacer = placeholderReplacer;
+        this.scope = scope;
+        this.cacheTicks = cacheTicks;
+        this.async = async;
     }
 
     public Plugin getPlugin() {
@@ -26,4 +33,16 @@ public class Placeholder {
         return placeholderReplacer;
     }
 
+    public PlaceholderScope getScope() {
+        return scope;
+    }
+
+    public int getCacheTicks() {
+        return cacheTicks;
+    }
+
+    public boolean isAsync() {
+        return async;
+    }
+
 }
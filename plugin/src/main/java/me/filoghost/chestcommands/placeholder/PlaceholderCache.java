@@ -9,25 +9,106 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.WeakHashMap;
 import java.util.function.Supplier;
+import me.filoghost.chestcommands.api.PlaceholderScope;
 import me.filoghost.chestcommands.placeholder.scanner.PlaceholderMatch;
 import org.bukkit.entity.Player;
 
 public class PlaceholderCache {
 
-    private final Map<Player, Map<PlaceholderMatch, String>> cachedReplacements;
+    private static final int EXPIRED_CLEANUP_INTERVAL_TICKS = 20 * 60;
+
+    private final Map<PlaceholderMatch, CachedReplacement> globalReplacements;
+    private final Map<Player, Map<PlaceholderMatch, CachedReplacement>> playerReplacements;
+    private long currentTick;
 
     public PlaceholderCache() {
-        cachedReplacements = new WeakHashMap<>();
+        globalReplacements = new HashMap<>();
+        playerReplacements = new WeakHashMap<>();
+    }
+
+    public String computeIfAbsent(PlaceholderMatch placeholderMatch, Player player, Placeholder placeholder, Supplier<String> replacementGetter) {
+        CachedReplacement cachedReplacement = getCachedReplacement(placeholderMatch, player, placeholder);
+
+        if (!isValid(cachedReplacement)) {
+            update(cachedReplacement, replacementGetter.get(), placeholder.getCacheTicks());
+        }
+
+        return cachedReplacement.getValue();
+    }
+
+    public CachedReplacement getCachedReplacement(PlaceholderMatch placeholderMatch, Player player, Placeholder placeholder) {
+        Map<PlaceholderMatch, CachedReplacement> cachedReplacements;
+        if (placeholder.getScope() == PlaceholderScope.GLOBAL) {
+            cachedReplacements = globalReplacements;
+        } else {
+            cachedReplacements = playerReplacements.computeIfAbsent(player, key -> new HashMap<>());
+        }
+
+        return cachedReplacements.computeIfAbsent(placeholderMatch, key -> new CachedReplacement());
+    }
+
+    public boolean isValid(CachedReplacement cachedReplacement) {
+        return cachedReplacement.loaded && cachedReplacement.expirationTick > currentTick;
+    }
+
+    public void update(CachedReplacement cachedReplacement, String value, int cacheTicks) {
+        cachedReplacement.value = value;
+        cachedReplacement.loaded = true;
+        cachedReplacement.expirationTick = currentTick + cacheTicks;
+    }
+
+    public void invalidate(Player player) {
+        Map<PlaceholderMatch, CachedReplacement> cachedReplacements = playerReplacements.get(player);
+        if (cachedReplacements != null) {
+            // Expired instead of removed, so that async placeholders display the last value while the new one is loading
+            for (CachedReplacement cachedReplacement : cachedReplacements.values()) {
+                cachedReplacement.expirationTick = currentTick;
+            }
+        }
     }
 
-    public String computeIfAbsent(PlaceholderMatch placeholderMatch, Player player, Supplier<String> replacementGetter) {
-        return cachedReplacements
-                .computeIfAbsent(player, key -> new HashMap<>())
-                .computeIfAbsent(placeholderMatch, key -> replacementGetter.get());
+    public void invalidateAll() {
+        globalReplacements.clear();
+        playerReplacements.clear();
     }
 
     public void onTick() {
-        cachedReplacements.forEach((player, placeholderMap) -> placeholderMap.clear());
+        currentTick++;
+
+        if (currentTick % EXPIRED_CLEANUP_INTERVAL_TICKS == 0) {
+            globalReplacements.values().removeIf(this::isRemovable);
+            playerReplacements.values().forEach(cachedReplacements -> cachedReplacements.values().removeIf(this::isRemovable));
+        }
+    }
+
+    private boolean isRemovable(CachedReplacement cachedReplacement) {
+        return cachedReplacement.expirationTick <= currentTick && !cachedReplacement.loading;
+    }
+
+
+    public static class CachedReplacement {
+
+        private String value;
+        private boolean loaded;
+        private boolean loading;
+        private long expirationTick;
+
+        public String getValue() {
+            return value;
+        }
+
+        public boolean isLoaded() {
+            return loaded;
+        }
+
+        public boolean isLoading() {
+            return loading;
+        }
+
+        public void setLoading(boolean loading) {
+            this.loading = loading;
+        }
+
     }
 
 }
@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.chestcommands.placeholder;
+
+import me.filoghost.chestcommands.placeholder.scanner.PlaceholderMatch;
+import org.jetbrains.annotations.Nullable;
+
+/*
+ * Remembers which placeholder a match resolved to, until placeholders are registered or unregistered.
+ * Held by compiled templates, so that the registry doesn't need to look up the identifier on each rendering.
+ */
+public class PlaceholderHandle {
+
+    private final PlaceholderMatch placeholderMatch;
+    private Placeholder placeholder;
+    private int registryVersion;
+
+    public PlaceholderHandle(PlaceholderMatch placeholderMatch) {
+        this.placeholderMatch = placeholderMatch;
+        this.registryVersion = PlaceholderRegistry.NO_VERSION;
+    }
+
+    public PlaceholderMatch getPlaceholderMatch() {
+        return placeholderMatch;
+    }
+
+    @Nullable Placeholder getPlaceholder() {
+        return placeholder;
+    }
+
+    boolean isResolved(int registryVersion) {
+        return this.registryVersion == registryVersion;
+    }
+
+    void setResolved(@Nullable Placeholder placeholder, int registryVersion) {
+        this.placeholder = placeholder;
+        this.registryVersion = registryVersion;
+    }
+
+}
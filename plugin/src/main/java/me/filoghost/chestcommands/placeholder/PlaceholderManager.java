@@ -5,28 +5,53 @@
  */
 package me.filoghost.chestcommands.placeholder;
 
+import me.filoghost.chestcommands.api.Icon;
 import me.filoghost.chestcommands.api.PlaceholderReplacer;
+import me.filoghost.chestcommands.api.PlaceholderScope;
+import me.filoghost.chestcommands.config.Settings;
 import me.filoghost.chestcommands.hook.PlaceholderAPIHook;
+import me.filoghost.chestcommands.icon.BaseConfigurableIcon;
+import me.filoghost.chestcommands.menu.MenuManager;
+import me.filoghost.chestcommands.placeholder.PlaceholderCache.CachedReplacement;
 import me.filoghost.chestcommands.placeholder.scanner.PlaceholderMatch;
 import me.filoghost.chestcommands.placeholder.scanner.PlaceholderScanner;
+import me.filoghost.chestcommands.stats.PluginStats;
+import me.filoghost.chestcommands.stats.Profiler;
 import me.filoghost.fcommons.Preconditions;
 import me.filoghost.fcommons.logging.Log;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 public class PlaceholderManager {
 
-    private static final List<StaticPlaceholder> staticPlaceholders = new ArrayList<>();
+    // Replaced as a whole, since menus may be loaded by multiple threads
+    private static volatile StaticPlaceholderMatcher staticPlaceholderMatcher = StaticPlaceholderMatcher.EMPTY;
     private static final PlaceholderRegistry dynamicPlaceholderRegistry = new PlaceholderRegistry();
     private static final PlaceholderCache placeholderCache = new PlaceholderCache();
+    private static final AsyncPlaceholderResolver asyncPlaceholderResolver = new AsyncPlaceholderResolver();
     static {
+        registerDefaultPlaceholders();
+    }
+
+    // Invoked again after loading the settings, which may change how default placeholders are resolved
+    public static void registerDefaultPlaceholders() {
         for (DefaultPlaceholder placeholder : DefaultPlaceholder.values()) {
-            dynamicPlaceholderRegistry.registerInternalPlaceholder(placeholder.getIdentifier(), placeholder.getReplacer());
+            dynamicPlaceholderRegistry.registerInternalPlaceholder(
+                    placeholder.getIdentifier(),
+                    placeholder.getReplacer(),
+                    placeholder.getScope(),
+                    placeholder.getCacheTicks(),
+                    placeholder.isAsync());
         }
+        placeholderCache.invalidateAll();
     }
 
     public static boolean hasDynamicPlaceholders(List<String> list) {
@@ -43,13 +68,29 @@ public class PlaceholderManager {
             return true;
         }
 
-        if (PlaceholderAPIHook.INSTANCE.isEnabled() && PlaceholderAPIHook.hasPlaceholders(text)) {
+        if (hasPlaceholderAPIPlaceholders(text)) {
             return true;
         }
 
         return false;
     }
 
+    static boolean hasPlaceholderAPIPlaceholders(String text) {
+        return PlaceholderAPIHook.INSTANCE.isEnabled() && PlaceholderAPIHook.hasPlaceholders(text);
+    }
+
+    /*
+     * Placeholders that are not registered are never replaced, so they are the same for all players too.
+     */
+    static boolean isGlobalPlaceholder(PlaceholderHandle placeholderHandle) {
+        Placeholder placeholder = dynamicPlaceholderRegistry.getPlaceholder(placeholderHandle);
+        return placeholder == null || placeholder.getScope() == PlaceholderScope.GLOBAL;
+    }
+
+    static @Nullable Placeholder getPlaceholder(PlaceholderHandle placeholderHandle) {
+        return dynamicPlaceholderRegistry.getPlaceholder(placeholderHandle);
+    }
+
     public static String replaceDynamicPlaceholders(String text, Player player) {
         text = new PlaceholderScanner(text).replace(match -> getReplacement(match, player));
 
@@ -60,27 +101,76 @@ public class PlaceholderManager {
         return text;
     }
 
-    private static @Nullable String getReplacement(PlaceholderMatch placeholderMatch, Player player) {
-        Placeholder placeholder = dynamicPlaceholderRegistry.getPlaceholder(placeholderMatch);
+    public static String replaceDynamicPlaceholders(PlaceholderTemplate template, Player player) {
+        String text = template.render(player);
+
+        if (PlaceholderAPIHook.INSTANCE.isEnabled()) {
+            text = PlaceholderAPIHook.setPlaceholders(text, player);
+        }
+
+        return text;
+    }
+
+    static @Nullable String getReplacement(PlaceholderMatch placeholderMatch, Player player) {
+        return getReplacement(placeholderMatch, dynamicPlaceholderRegistry.getPlaceholder(placeholderMatch), player);
+    }
+
+    static @Nullable String getReplacement(PlaceholderHandle placeholderHandle, Player player) {
+        return getReplacement(placeholderHandle.getPlaceholderMatch(), dynamicPlaceholderRegistry.getPlaceholder(placeholderHandle), player);
+    }
 
+    private static @Nullable String getReplacement(PlaceholderMatch placeholderMatch, @Nullable Placeholder placeholder, Player player) {
         if (placeholder == null) {
             return null; // Placeholder not found
         }
 
-        return placeholderCache.computeIfAbsent(placeholderMatch, player, () -> {
-            try {
-                return placeholder.getReplacer().getReplacement(player, placeholderMatch.getArgument());
-            } catch (Throwable t) {
-                Log.severe("Encountered an exception while replacing the placeholder \"" + placeholderMatch.getIdentifier()
-                        + "\" registered by the plugin \"" + placeholder.getPlugin().getName() + "\"", t);
-                return "[PLACEHOLDER ERROR]";
-            }
-        });
+        PluginStats.recordPlaceholderLookup();
+
+        if (placeholder.isAsync()) {
+            return getAsyncReplacement(placeholderMatch, player, placeholder);
+        }
+
+        return placeholderCache.computeIfAbsent(placeholderMatch, player, placeholder,
+                () -> computeReplacement(placeholderMatch, player, placeholder));
+    }
+
+    private static @Nullable String getAsyncReplacement(PlaceholderMatch placeholderMatch, Player player, Placeholder placeholder) {
+        CachedReplacement cachedReplacement = placeholderCache.getCachedReplacement(placeholderMatch, player, placeholder);
+
+        if (placeholderCache.isValid(cachedReplacement)) {
+            return cachedReplacement.getValue();
+        }
+
+        if (!cachedReplacement.isLoading()) {
+            Player affectedPlayer = placeholder.getScope() == PlaceholderScope.GLOBAL ? null : player;
+            asyncPlaceholderResolver.submit(cachedReplacement, placeholder, affectedPlayer, placeholder.getCacheTicks(),
+                    () -> computeReplacement(placeholderMatch, player, placeholder));
+        }
+
+        // Display the last known value while the new one is loading
+        if (cachedReplacement.isLoaded()) {
+            return cachedReplacement.getValue();
+        } else {
+            return Settings.async_placeholder_loading_text;
+        }
+    }
+
+    private static @Nullable String computeReplacement(PlaceholderMatch placeholderMatch, Player player, Placeholder placeholder) {
+        PluginStats.recordPlaceholderResolution();
+        long profilerStart = Profiler.startTimer();
+        try {
+            return placeholder.getReplacer().getReplacement(player, placeholderMatch.getArgument());
+        } catch (Throwable t) {
+            Log.severe("Encountered an exception while replacing the placeholder \"" + placeholderMatch.getIdentifier()
+                    + "\" registered by the plugin \"" + placeholder.getPlugin().getName() + "\"", t);
+            return "[PLACEHOLDER ERROR]";
+        } finally {
+            Profiler.recordPlaceholderReplacer(placeholderMatch, placeholder, profilerStart);
+        }
     }
 
     public static void setStaticPlaceholders(List<StaticPlaceholder> staticPlaceholders) {
-        PlaceholderManager.staticPlaceholders.clear();
-        PlaceholderManager.staticPlaceholders.addAll(staticPlaceholders);
+        staticPlaceholderMatcher = StaticPlaceholderMatcher.compile(staticPlaceholders);
     }
 
     public static boolean hasStaticPlaceholders(List<String> list) {
@@ -93,34 +183,38 @@ public class PlaceholderManager {
     }
 
     public static boolean hasStaticPlaceholders(String text) {
-        for (StaticPlaceholder staticPlaceholder : staticPlaceholders) {
-            if (text.contains(staticPlaceholder.getIdentifier())) {
-                return true;
-            }
-        }
-        return false;
+        return staticPlaceholderMatcher.containsAny(text);
     }
 
     public static String replaceStaticPlaceholders(String text) {
-        for (StaticPlaceholder staticPlaceholder : staticPlaceholders) {
-            text = text.replace(staticPlaceholder.getIdentifier(), staticPlaceholder.getReplacement());
-        }
-        return text;
+        return staticPlaceholderMatcher.replaceAll(text);
     }
 
-    public static void registerPluginPlaceholder(Plugin plugin, String identifier, PlaceholderReplacer placeholderReplacer) {
+    public static void registerPluginPlaceholder(Plugin plugin, String identifier, PlaceholderReplacer placeholderReplacer,
+            PlaceholderScope scope, int cacheTicks, boolean async) {
         Preconditions.notNull(plugin, "plugin");
         checkIdentifierArgument(identifier);
         Preconditions.notNull(placeholderReplacer, "placeholderReplacer");
+        Preconditions.notNull(scope, "scope");
+        Preconditions.checkArgument(cacheTicks > 0, "cacheTicks must be greater than 0");
 
-        dynamicPlaceholderRegistry.registerExternalPlaceholder(plugin, identifier, placeholderReplacer);
+        dynamicPlaceholderRegistry.registerExternalPlaceholder(plugin, identifier, placeholderReplacer, scope, cacheTicks, async);
+        placeholderCache.invalidateAll(); // Cached values may belong to a different placeholder
     }
 
     public static boolean unregisterPluginPlaceholder(Plugin plugin, String identifier) {
         Preconditions.notNull(plugin, "plugin");
         checkIdentifierArgument(identifier);
 
-        return dynamicPlaceholderRegistry.unregisterExternalPlaceholder(plugin, identifier);
+        boolean removed = dynamicPlaceholderRegistry.unregisterExternalPlaceholder(plugin, identifier);
+        if (removed) {
+            placeholderCache.invalidateAll();
+        }
+        return removed;
+    }
+
+    public static void invalidateCachedReplacements(Player player) {
+        placeholderCache.invalidate(player);
     }
 
     private static void checkIdentifierArgument(String identifier) {
@@ -131,6 +225,48 @@ public class PlaceholderManager {
 
     public static void onTick() {
         placeholderCache.onTick();
+
+        Set<Placeholder> changedGlobalPlaceholders = new HashSet<>();
+        Map<Player, Set<Placeholder>> changedPlayerPlaceholders = new HashMap<>();
+
+        asyncPlaceholderResolver.pollCompletedReplacements(completedReplacement -> {
+            CachedReplacement cachedReplacement = completedReplacement.getCachedReplacement();
+            boolean changed = !cachedReplacement.isLoaded() || !Objects.equals(cachedReplacement.getValue(), completedReplacement.getValue());
+
+            cachedReplacement.setLoading(false);
+            placeholderCache.update(cachedReplacement, completedReplacement.getValue(), completedReplacement.getCacheTicks());
+
+            if (!changed) {
+                return;
+            }
+
+            if (completedReplacement.getAffectedPlayer() != null) {
+                changedPlayerPlaceholders
+                        .computeIfAbsent(completedReplacement.getAffectedPlayer(), key -> new HashSet<>())
+                        .add(completedReplacement.getPlaceholder());
+            } else {
+                changedGlobalPlaceholders.add(completedReplacement.getPlaceholder());
+            }
+        });
+
+        // Only the slots with icons that use the changed placeholders are refreshed
+        if (!changedGlobalPlaceholders.isEmpty()) {
+            MenuManager.refreshOpenMenuViews(icon -> usesAnyPlaceholder(icon, changedGlobalPlaceholders));
+        }
+        changedPlayerPlaceholders.forEach((player, changedPlaceholders) -> {
+            MenuManager.refreshOpenMenuView(player, icon -> usesAnyPlaceholder(icon, changedPlaceholders));
+        });
+    }
+
+    /*
+     * Other types of icons don't use the placeholders of the plugin.
+     */
+    private static boolean usesAnyPlaceholder(@Nullable Icon icon, Set<Placeholder> placeholders) {
+        return icon instanceof BaseConfigurableIcon && ((BaseConfigurableIcon) icon).usesAnyPlaceholder(placeholders);
+    }
+
+    public static void shutdown() {
+        asyncPlaceholderResolver.shutdown();
     }
 
 }
@@ -7,6 +7,7 @@ package me.filoghost.chestcommands.placeholder;
 
 import me.filoghost.chestcommands.ChestCommands;
 import me.filoghost.chestcommands.api.PlaceholderReplacer;
+import me.filoghost.chestcommands.api.PlaceholderScope;
 import me.filoghost.chestcommands.placeholder.scanner.PlaceholderMatch;
 import me.filoghost.fcommons.collection.CaseInsensitiveMap;
 import org.bukkit.plugin.Plugin;
@@ -17,20 +18,29 @@ import java.util.Map;
 
 public class PlaceholderRegistry {
 
+    static final int NO_VERSION = -1;
+
     // <identifier, placeholder>
     private final Map<String, Placeholder> internalPlaceholders = new CaseInsensitiveMap<>();
 
     // <identifier, <pluginName, placeholder>>
     private final Map<String, Map<String, Placeholder>> externalPlaceholders = new CaseInsensitiveMap<>();
 
-    public void registerInternalPlaceholder(String identifier, PlaceholderReplacer replacer) {
-        internalPlaceholders.put(identifier, new Placeholder(ChestCommands.getInstance(), replacer));
+    // Incremented on every change, to invalidate the placeholders resolved by handles
+    private int version;
+
+    public void registerInternalPlaceholder(String identifier, PlaceholderReplacer replacer, PlaceholderScope scope, int cacheTicks,
+            boolean async) {
+        internalPlaceholders.put(identifier, new Placeholder(ChestCommands.getInstance(), replacer, scope, cacheTicks, async));
+        incrementVersion();
     }
 
-    public void registerExternalPlaceholder(Plugin plugin, String identifier, PlaceholderReplacer placeholderReplacer) {
+    public void registerExternalPlaceholder(Plugin plugin, String identifier, PlaceholderReplacer placeholderReplacer,
+            PlaceholderScope scope, int cacheTicks, boolean async) {
         externalPlaceholders
                 .computeIfAbsent(identifier, key -> new CaseInsensitiveMap<>(new LinkedHashMap<>()))
-                .put(plugin.getName(), new Placeholder(plugin, placeholderReplacer));
+                .put(plugin.getName(), new Placeholder(plugin, placeholderReplacer, scope, cacheTicks, async));
+        incrementVersion();
     }
 
     public boolean unregisterExternalPlaceholder(Plugin plugin, String identifier) {
@@ -46,9 +56,29 @@ public class PlaceholderRegistry {
             externalPlaceholders.remove(identifier);
         }
 
+        if (removed) {
+            incrementVersion();
+        }
         return removed;
     }
 
+    private void incrementVersion() {
+        version++;
+        if (version == NO_VERSION) {
+            version++;
+        }
+    }
+
+    public @Nullable Placeholder getPlaceholder(PlaceholderHandle placeholderHandle) {
+        if (placeholderHandle.isResolved(version)) {
+            return placeholderHandle.getPlaceholder();
+        }
+
+        Placeholder placeholder = getPlaceholder(placeholderHandle.getPlaceholderMatch());
+        placeholderHandle.setResolved(placeholder, version);
+        return placeholder;
+    }
+
     public @Nullable Placeholder getPlaceholder(PlaceholderMatch placeholderMatch) {
         String identifier = placeholderMatch.getIdentifier();
 
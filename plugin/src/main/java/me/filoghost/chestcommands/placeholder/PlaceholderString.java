@@ -8,11 +8,15 @@ package me.filoghost.chestcommands.placeholder;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Set;
+
 public class PlaceholderString {
 
     private final String originalString;
     private final String stringWithStaticPlaceholders;
     private final boolean hasDynamicPlaceholders;
+    private final boolean hasPlaceholderAPIPlaceholders;
+    private final PlaceholderTemplate template;
 
     public static @Nullable PlaceholderString of(String string) {
         if (string != null) {
@@ -26,11 +30,18 @@ public class PlaceholderString {
         this.originalString = originalString;
         this.stringWithStaticPlaceholders = PlaceholderManager.replaceStaticPlaceholders(originalString);
         this.hasDynamicPlaceholders = PlaceholderManager.hasDynamicPlaceholders(stringWithStaticPlaceholders);
+        if (hasDynamicPlaceholders) {
+            this.template = PlaceholderTemplate.compile(stringWithStaticPlaceholders);
+            this.hasPlaceholderAPIPlaceholders = PlaceholderManager.hasPlaceholderAPIPlaceholders(stringWithStaticPlaceholders);
+        } else {
+            this.template = null;
+            this.hasPlaceholderAPIPlaceholders = false;
+        }
     }
     
     public String getValue(Player player) {
         if (hasDynamicPlaceholders) {
-            return PlaceholderManager.replaceDynamicPlaceholders(stringWithStaticPlaceholders, player);
+            return PlaceholderManager.replaceDynamicPlaceholders(template, player);
         } else {
             return stringWithStaticPlaceholders;
         }
@@ -44,4 +55,20 @@ public class PlaceholderString {
         return hasDynamicPlaceholders;
     }
 
+    /*
+     * PlaceholderAPI placeholders are considered dependent on the player, since their scope is not known.
+     * The result may change when placeholders are registered or unregistered.
+     */
+    public boolean isPlayerIndependent() {
+        if (!hasDynamicPlaceholders) {
+            return true;
+        }
+
+        return !hasPlaceholderAPIPlaceholders && template.isPlayerIndependent();
+    }
+
+    public boolean usesAnyPlaceholder(Set<Placeholder> placeholders) {
+        return hasDynamicPlaceholders && template.usesAnyPlaceholder(placeholders);
+    }
+
 }
@@ -10,13 +10,19 @@ import me.filoghost.fcommons.Preconditions;
 import me.filoghost.fcommons.collection.CollectionUtils;
 import org.bukkit.entity.Player;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 public class PlaceholderStringList {
 
     private final ImmutableList<String> originalList;
     private final ImmutableList<String> listWithStaticPlaceholders;
-    private final ImmutableList<PlaceholderString> placeholderStringList;
+    private final String[] linesWithStaticPlaceholders;
+    private final int[] dynamicLineIndexes;
+    private final PlaceholderString[] dynamicLines;
     private final boolean hasDynamicPlaceholders;
 
     public PlaceholderStringList(List<String> list) {
@@ -30,11 +36,28 @@ public class PlaceholderStringList {
             this.listWithStaticPlaceholders = originalList;
         }
 
-        this.hasDynamicPlaceholders = PlaceholderManager.hasDynamicPlaceholders(listWithStaticPlaceholders);
+        // Only the lines with dynamic placeholders need to be replaced again for each player
+        List<Integer> dynamicLineIndexes = new ArrayList<>();
+        for (int i = 0; i < listWithStaticPlaceholders.size(); i++) {
+            if (PlaceholderManager.hasDynamicPlaceholders(listWithStaticPlaceholders.get(i))) {
+                dynamicLineIndexes.add(i);
+            }
+        }
+
+        this.hasDynamicPlaceholders = !dynamicLineIndexes.isEmpty();
         if (hasDynamicPlaceholders) {
-            this.placeholderStringList = CollectionUtils.transformImmutable(listWithStaticPlaceholders, PlaceholderString::of);
+            this.linesWithStaticPlaceholders = listWithStaticPlaceholders.toArray(new String[0]);
+            this.dynamicLineIndexes = new int[dynamicLineIndexes.size()];
+            this.dynamicLines = new PlaceholderString[dynamicLineIndexes.size()];
+            for (int i = 0; i < dynamicLineIndexes.size(); i++) {
+                int lineIndex = dynamicLineIndexes.get(i);
+                this.dynamicLineIndexes[i] = lineIndex;
+                this.dynamicLines[i] = PlaceholderString.of(listWithStaticPlaceholders.get(lineIndex));
+            }
         } else {
-            this.placeholderStringList = null;
+            this.linesWithStaticPlaceholders = null;
+            this.dynamicLineIndexes = null;
+            this.dynamicLines = null;
         }
     }
 
@@ -42,9 +65,13 @@ public class PlaceholderStringList {
         return originalList;
     }
 
-    public ImmutableList<String> getValue(Player player) {
+    public List<String> getValue(Player player) {
         if (hasDynamicPlaceholders) {
-            return CollectionUtils.transformImmutable(placeholderStringList, element -> element.getValue(player));
+            String[] lines = linesWithStaticPlaceholders.clone();
+            for (int i = 0; i < dynamicLines.length; i++) {
+                lines[dynamicLineIndexes[i]] = dynamicLines[i].getValue(player);
+            }
+            return Collections.unmodifiableList(Arrays.asList(lines));
         } else {
             return listWithStaticPlaceholders;
         }
@@ -54,4 +81,26 @@ public class PlaceholderStringList {
         return hasDynamicPlaceholders;
     }
 
+    public boolean usesAnyPlaceholder(Set<Placeholder> placeholders) {
+        if (hasDynamicPlaceholders) {
+            for (PlaceholderString dynamicLine : dynamicLines) {
+                if (dynamicLine.usesAnyPlaceholder(placeholders)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public boolean isPlayerIndependent() {
+        if (hasDynamicPlaceholders) {
+            for (PlaceholderString dynamicLine : dynamicLines) {
+                if (!dynamicLine.isPlayerIndependent()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
 }
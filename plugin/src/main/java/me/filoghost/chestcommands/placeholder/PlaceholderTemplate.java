@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.chestcommands.placeholder;
+
+import me.filoghost.chestcommands.placeholder.scanner.PlaceholderScanner;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/*
+ * A text compiled once into literal segments and placeholder matches, so that it can be rendered
+ * without scanning and parsing the placeholders again every time.
+ */
+public class PlaceholderTemplate {
+
+    // Shared by all templates, each render only uses the part of the buffer after the starting length
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(StringBuilder::new);
+
+    private final String[] literals; // Always one more than the placeholders
+    private final PlaceholderHandle[] placeholderHandles;
+    private final String[] placeholderTexts; // Kept when there is no replacement
+
+    private PlaceholderTemplate(String[] literals, PlaceholderHandle[] placeholderHandles, String[] placeholderTexts) {
+        this.literals = literals;
+        this.placeholderHandles = placeholderHandles;
+        this.placeholderTexts = placeholderTexts;
+    }
+
+    public static PlaceholderTemplate compile(String text) {
+        List<String> literals = new ArrayList<>();
+        List<PlaceholderHandle> placeholderHandles = new ArrayList<>();
+        List<String> placeholderTexts = new ArrayList<>();
+        int[] lastEndIndex = {0};
+
+        new PlaceholderScanner(text).forEachMatch((match, startIndex, endIndex) -> {
+            literals.add(text.substring(lastEndIndex[0], startIndex));
+            placeholderHandles.add(new PlaceholderHandle(match));
+            placeholderTexts.add(text.substring(startIndex, endIndex));
+            lastEndIndex[0] = endIndex;
+        });
+        literals.add(text.substring(lastEndIndex[0]));
+
+        return new PlaceholderTemplate(
+                literals.toArray(new String[0]),
+                placeholderHandles.toArray(new PlaceholderHandle[0]),
+                placeholderTexts.toArray(new String[0]));
+    }
+
+    /*
+     * Returns true if the rendered text is the same for all players, since all its placeholders have the global scope.
+     */
+    public boolean isPlayerIndependent() {
+        for (PlaceholderHandle placeholderHandle : placeholderHandles) {
+            if (!PlaceholderManager.isGlobalPlaceholder(placeholderHandle)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean usesAnyPlaceholder(Set<Placeholder> placeholders) {
+        for (PlaceholderHandle placeholderHandle : placeholderHandles) {
+            if (placeholders.contains(PlaceholderManager.getPlaceholder(placeholderHandle))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public String render(Player player) {
+        if (placeholderHandles.length == 0) {
+            return literals[0];
+        }
+
+        StringBuilder buffer = BUFFER.get();
+        int startLength = buffer.length(); // Not zero if a replacer is rendering another template
+
+        try {
+            for (int i = 0; i < placeholderHandles.length; i++) {
+                buffer.append(literals[i]);
+
+                String replacement = PlaceholderManager.getReplacement(placeholderHandles[i], player);
+                if (replacement != null) {
+                    buffer.append(replacement);
+                } else {
+                    buffer.append(placeholderTexts[i]);
+                }
+            }
+            buffer.append(literals[placeholderHandles.length]);
+
+            return buffer.substring(startLength);
+        } finally {
+            buffer.setLength(startLength);
+        }
+    }
+
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.chestcommands.placeholder;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/*
+ * Aho-Corasick automaton of the static placeholder identifiers, which finds all of them in a single pass over the text.
+ * When matches overlap, the one that starts first is replaced, and the longest one if they start at the same index.
+ * Immutable once compiled, so it can be used by multiple threads.
+ */
+public class StaticPlaceholderMatcher {
+
+    public static final StaticPlaceholderMatcher EMPTY = compile(new ArrayList<>());
+
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+
+    private final String[] identifiers;
+    private final String[] replacements;
+
+    // Transitions of each node are stored sorted in a shared array, from edgesStart[node] to edgesStart[node + 1]
+    private final int[] edgesStart;
+    private final char[] edgeChars;
+    private final int[] edgeTargets;
+
+    private final int[] failure; // Node of the longest proper suffix which is also in the trie
+    private final int[] output; // Placeholder whose identifier ends at the node, or NONE
+    private final int[] outputLink; // Closest node in the failure chain with an output, or NONE
+
+    private StaticPlaceholderMatcher(String[] identifiers, String[] replacements, int[] output,
+            int[] edgesStart, char[] edgeChars, int[] edgeTargets) {
+        this.identifiers = identifiers;
+        this.replacements = replacements;
+        this.output = output;
+        this.edgesStart = edgesStart;
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.failure = new int[output.length];
+        this.outputLink = new int[output.length];
+        computeLinks();
+    }
+
+    public static StaticPlaceholderMatcher compile(List<StaticPlaceholder> staticPlaceholders) {
+        String[] identifiers = new String[staticPlaceholders.size()];
+        String[] replacements = new String[staticPlaceholders.size()];
+
+        // Build the trie
+        List<Map<Character, Integer>> children = new ArrayList<>();
+        List<Integer> outputs = new ArrayList<>();
+        children.add(new TreeMap<>());
+        outputs.add(NONE);
+
+        for (int i = 0; i < staticPlaceholders.size(); i++) {
+            StaticPlaceholder staticPlaceholder = staticPlaceholders.get(i);
+            identifiers[i] = staticPlaceholder.getIdentifier();
+            replacements[i] = staticPlaceholder.getReplacement();
+
+            if (identifiers[i].isEmpty()) {
+                continue;
+            }
+
+            int node = ROOT;
+            for (int j = 0; j < identifiers[i].length(); j++) {
+                char c = identifiers[i].charAt(j);
+                Integer child = children.get(node).get(c);
+                if (child == null) {
+                    child = children.size();
+                    children.add(new TreeMap<>());
+                    outputs.add(NONE);
+                    children.get(node).put(c, child);
+                }
+                node = child;
+            }
+
+            // With duplicate identifiers, the first one is used
+            if (outputs.get(node) == NONE) {
+                outputs.set(node, i);
+            }
+        }
+
+        // Flatten the transitions
+        int nodeCount = children.size();
+        int edgeCount = 0;
+        for (Map<Character, Integer> nodeChildren : children) {
+            edgeCount += nodeChildren.size();
+        }
+
+        int[] edgesStart = new int[nodeCount + 1];
+        char[] edgeChars = new char[edgeCount];
+        int[] edgeTargets = new int[edgeCount];
+        int edgeIndex = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            edgesStart[node] = edgeIndex;
+            for (Map.Entry<Character, Integer> edge : children.get(node).entrySet()) {
+                edgeChars[edgeIndex] = edge.getKey();
+                edgeTargets[edgeIndex] = edge.getValue();
+                edgeIndex++;
+            }
+        }
+        edgesStart[nodeCount] = edgeIndex;
+
+        int[] output = new int[nodeCount];
+        for (int node = 0; node < nodeCount; node++) {
+            output[node] = outputs.get(node);
+        }
+
+        return new StaticPlaceholderMatcher(identifiers, replacements, output, edgesStart, edgeChars, edgeTargets);
+    }
+
+    /*
+     * Breadth-first, so that the links of shorter prefixes are computed first.
+     */
+    private void computeLinks() {
+        Deque<Integer> queue = new ArrayDeque<>();
+        failure[ROOT] = ROOT;
+        outputLink[ROOT] = NONE;
+        queue.add(ROOT);
+
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+
+            for (int edge = edgesStart[node]; edge < edgesStart[node + 1]; edge++) {
+                int child = edgeTargets[edge];
+                int childFailure = node == ROOT ? ROOT : next(failure[node], edgeChars[edge]);
+                failure[child] = childFailure;
+                outputLink[child] = output[childFailure] != NONE ? childFailure : outputLink[childFailure];
+                queue.add(child);
+            }
+        }
+    }
+
+    public boolean containsAny(String text) {
+        if (identifiers.length == 0) {
+            return false;
+        }
+
+        int node = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            node = next(node, text.charAt(i));
+            if (output[node] != NONE || outputLink[node] != NONE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public String replaceAll(String text) {
+        if (identifiers.length == 0) {
+            return text;
+        }
+
+        // Find the longest placeholder starting at each index, allocated only if something is found
+        int[] matchesByStart = null;
+
+        int node = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            node = next(node, text.charAt(i));
+
+            int outputNode = output[node] != NONE ? node : outputLink[node];
+            while (outputNode != NONE) {
+                int placeholder = output[outputNode];
+                int start = i + 1 - identifiers[placeholder].length();
+                if (matchesByStart == null) {
+                    matchesByStart = new int[text.length()];
+                    Arrays.fill(matchesByStart, NONE);
+                }
+                int previousMatch = matchesByStart[start];
+                if (previousMatch == NONE || identifiers[previousMatch].length() < identifiers[placeholder].length()) {
+                    matchesByStart[start] = placeholder;
+                }
+                outputNode = outputLink[outputNode];
+            }
+        }
+
+        if (matchesByStart == null) {
+            return text;
+        }
+
+        // Replace from left to right, skipping the matches that overlap a replaced one
+        StringBuilder result = new StringBuilder(text.length());
+        int copiedIndex = 0;
+        for (int start = 0; start < text.length(); start++) {
+            int placeholder = matchesByStart[start];
+            if (placeholder != NONE && start >= copiedIndex) {
+                result.append(text, copiedIndex, start).append(replacements[placeholder]);
+                copiedIndex = start + identifiers[placeholder].length();
+            }
+        }
+        result.append(text, copiedIndex, text.length());
+        return result.toString();
+    }
+
+    private int next(int node, char c) {
+        while (true) {
+            int child = findChild(node, c);
+            if (child != NONE) {
+                return child;
+            }
+            if (node == ROOT) {
+                return ROOT;
+            }
+            node = failure[node];
+        }
+    }
+
+    private int findChild(int node, char c) {
+        int low = edgesStart[node];
+        int high = edgesStart[node + 1] - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            char middleChar = edgeChars[middle];
+            if (middleChar < c) {
+                low = middle + 1;
+            } else if (middleChar > c) {
+                high = middle - 1;
+            } else {
+                return edgeTargets[middle];
+            }
+        }
+        return NONE;
+    }
+
+}
@@ -14,11 +14,13 @@ public class PlaceholderMatch {
     private final String pluginNamespace;
     private final String identifier;
     private final String argument;
+    private final int hashCode; // Used as cache key for each replacement
 
     private PlaceholderMatch(String pluginNamespace, String identifier, String argument) {
         this.pluginNamespace = pluginNamespace;
         this.identifier = identifier;
         this.argument = argument;
+        this.hashCode = Objects.hash(pluginNamespace, identifier, argument);
     }
 
     public String getPluginNamespace() {
@@ -72,14 +74,15 @@ public class PlaceholderMatch {
         }
 
         PlaceholderMatch other = (PlaceholderMatch) obj;
-        return Objects.equals(this.pluginNamespace, other.pluginNamespace)
+        return this.hashCode == other.hashCode
+                && Objects.equals(this.pluginNamespace, other.pluginNamespace)
                 && Objects.equals(this.identifier, other.identifier)
                 && Objects.equals(this.argument, other.argument);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(pluginNamespace, identifier, argument);
+        return hashCode;
     }
 
 }
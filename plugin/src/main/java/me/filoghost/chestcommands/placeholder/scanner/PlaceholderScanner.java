@@ -59,6 +59,11 @@ public class PlaceholderScanner {
         return output.toString();
     }
 
+    public void forEachMatch(MatchConsumer matchConsumer) {
+        // The end index is exclusive, i.e. the index after the closing tag
+        scan(match -> matchConsumer.accept(match, placeholderStartIndex, index + 1));
+    }
+
     private void scan(Consumer<PlaceholderMatch> matchCallback) {
         index = 0;
         placeholderStartIndex = 0;
@@ -96,4 +101,12 @@ public class PlaceholderScanner {
         }
     }
 
+
+    @FunctionalInterface
+    public interface MatchConsumer {
+
+        void accept(PlaceholderMatch match, int startIndex, int endIndex);
+
+    }
+
 }
@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.chestcommands.stats;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Histogram of durations with fixed buckets, which can be recorded from multiple threads without locking.
+ */
+public class LatencyHistogram {
+
+    // Upper bounds (inclusive) of the buckets, the last bucket has no upper bound
+    private static final long[] BUCKET_BOUNDS_NANOS = {
+            TimeUnit.MICROSECONDS.toNanos(1),
+            TimeUnit.MICROSECONDS.toNanos(5),
+            TimeUnit.MICROSECONDS.toNanos(10),
+            TimeUnit.MICROSECONDS.toNanos(50),
+            TimeUnit.MICROSECONDS.toNanos(100),
+            TimeUnit.MICROSECONDS.toNanos(500),
+            TimeUnit.MILLISECONDS.toNanos(1),
+            TimeUnit.MILLISECONDS.toNanos(5),
+            TimeUnit.MILLISECONDS.toNanos(10),
+            TimeUnit.MILLISECONDS.toNanos(50),
+            TimeUnit.MILLISECONDS.toNanos(100),
+            TimeUnit.MILLISECONDS.toNanos(500),
+            TimeUnit.SECONDS.toNanos(1),
+            TimeUnit.SECONDS.toNanos(5)
+    };
+
+    private final LongAdder[] bucketCounts;
+    private final LongAdder totalNanos;
+
+    public LatencyHistogram() {
+        this.bucketCounts = new LongAdder[BUCKET_BOUNDS_NANOS.length + 1];
+        for (int i = 0; i < bucketCounts.length; i++) {
+            bucketCounts[i] = new LongAdder();
+        }
+        this.totalNanos = new LongAdder();
+    }
+
+    public void record(long durationNanos) {
+        record(durationNanos, 1);
+    }
+
+    /*
+     * Records the same duration multiple times, for example the average duration of an operation done in batch.
+     */
+    public void record(long durationNanos, int times) {
+        int bucket = 0;
+        while (bucket < BUCKET_BOUNDS_NANOS.length && durationNanos > BUCKET_BOUNDS_NANOS[bucket]) {
+            bucket++;
+        }
+
+        bucketCounts[bucket].add(times);
+        totalNanos.add(durationNanos * times);
+    }
+
+    public Snapshot snapshot() {
+        long[] counts = new long[bucketCounts.length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = bucketCounts[i].sum();
+        }
+        return new Snapshot(counts, totalNanos.sum());
+    }
+
+    public void reset() {
+        for (LongAdder bucketCount : bucketCounts) {
+            bucketCount.reset();
+        }
+        totalNanos.reset();
+    }
+
+
+    /*
+     * The values may be slightly inconsistent with each other, if durations are recorded while taking the snapshot.
+     */
+    public static class Snapshot {
+
+        private final long[] bucketCounts;
+        private final long totalNanos;
+        private final long count;
+
+        private Snapshot(long[] bucketCounts, long totalNanos) {
+            this.bucketCounts = bucketCounts;
+            this.totalNanos = totalNanos;
+
+            long count = 0;
+            for (long bucketCount : bucketCounts) {
+                count += bucketCount;
+            }
+            this.count = count;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long getAverageNanos() {
+            return count > 0 ? totalNanos / count : 0;
+        }
+
+        /*
+         * Returns the upper bound of the bucket containing the percentile, or -1 if it's in the last bucket (without bound).
+         */
+        public long getPercentileUpperBoundNanos(double percentile) {
+            long threshold = (long) Math.ceil(count * percentile / 100.0);
+            long cumulativeCount = 0;
+            for (int i = 0; i < BUCKET_BOUNDS_NANOS.length; i++) {
+                cumulativeCount += bucketCounts[i];
+                if (cumulativeCount >= threshold) {
+                    return BUCKET_BOUNDS_NANOS[i];
+                }
+            }
+            return -1;
+        }
+
+        public int getBucketsCount() {
+            return bucketCounts.length;
+        }
+
+        /*
+         * Returns -1 for the last bucket, which has no upper bound.
+         */
+        public long getBucketUpperBoundNanos(int bucket) {
+            return bucket < BUCKET_BOUNDS_NANOS.length ? BUCKET_BOUNDS_NANOS[bucket] : -1;
+        }
+
+        public long getBucketCount(int bucket) {
+            return bucketCounts[bucket];
+        }
+
+    }
+
+}
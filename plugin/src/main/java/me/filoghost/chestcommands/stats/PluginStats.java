@@ -0,0 +1,201 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.chestcommands.stats;
+
+import me.filoghost.chestcommands.api.Icon;
+import me.filoghost.chestcommands.api.Menu;
+import me.filoghost.chestcommands.config.Settings;
+import me.filoghost.chestcommands.menu.InternalMenu;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Counters and latency histograms of the plugin at runtime, shown by "/cc stats" and by the optional export file.
+ * Recording only uses LongAdder and concurrent maps, so it never blocks the main thread or the async placeholder threads.
+ * Timers are started with startTimer(), which returns NOT_STARTED when collecting stats is disabled in the settings.
+ */
+public class PluginStats {
+
+    public static final long NOT_STARTED = 0;
+
+    private static final Map<String, LongAdder> menuRefreshes = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, LatencyHistogram> iconRenderTimes = new ConcurrentHashMap<>();
+    private static final LongAdder placeholderLookups = new LongAdder();
+    private static final LongAdder placeholderResolutions = new LongAdder();
+    private static final LatencyHistogram clickLatency = new LatencyHistogram();
+    private static final LatencyHistogram fullReloadTimes = new LatencyHistogram();
+    private static final LatencyHistogram changedMenusReloadTimes = new LatencyHistogram();
+    private static volatile long collectingSinceMillis = System.currentTimeMillis();
+    private static boolean collectingOnLastLoad;
+
+    public static boolean isEnabled() {
+        return Settings.collect_stats;
+    }
+
+    /*
+     * Called after the settings are loaded: when collecting stats is turned on, they start from zero.
+     */
+    public static void onSettingsLoaded() {
+        if (Settings.collect_stats && !collectingOnLastLoad) {
+            reset();
+        }
+        collectingOnLastLoad = Settings.collect_stats;
+    }
+
+    public static long startTimer() {
+        if (!Settings.collect_stats) {
+            return NOT_STARTED;
+        }
+
+        long now = System.nanoTime();
+        return now != NOT_STARTED ? now : now + 1;
+    }
+
+    public static void recordMenuRefresh(Menu menu) {
+        recordMenuRefresh(menu, 1);
+    }
+
+    public static void recordMenuRefresh(Menu menu, int views) {
+        if (!Settings.collect_stats) {
+            return;
+        }
+
+        menuRefreshes.computeIfAbsent(getMenuName(menu), key -> new LongAdder()).add(views);
+    }
+
+    public static void recordIconRender(Icon icon, long startNanos) {
+        recordIconRender(icon, startNanos, 1);
+    }
+
+    /*
+     * For icons rendered for multiple viewers at once, the average time is recorded for each viewer.
+     */
+    public static void recordIconRender(Icon icon, long startNanos, int viewers) {
+        if (startNanos == NOT_STARTED || viewers <= 0) {
+            return;
+        }
+
+        long elapsedNanos = System.nanoTime() - startNanos;
+        iconRenderTimes.computeIfAbsent(icon.getClass(), key -> new LatencyHistogram()).record(elapsedNanos / viewers, viewers);
+    }
+
+    public static void recordPlaceholderLookup() {
+        if (Settings.collect_stats) {
+            placeholderLookups.increment();
+        }
+    }
+
+    /*
+     * A lookup which was not served by the cache, and invoked the placeholder replacer.
+     */
+    public static void recordPlaceholderResolution() {
+        if (Settings.collect_stats) {
+            placeholderResolutions.increment();
+        }
+    }
+
+    public static void recordClick(long clickNanos) {
+        recordElapsed(clickLatency, clickNanos);
+    }
+
+    public static void recordFullReload(long startNanos) {
+        recordElapsed(fullReloadTimes, startNanos);
+    }
+
+    public static void recordChangedMenusReload(long startNanos) {
+        recordElapsed(changedMenusReloadTimes, startNanos);
+    }
+
+    private static void recordElapsed(LatencyHistogram histogram, long startNanos) {
+        if (startNanos != NOT_STARTED) {
+            histogram.record(System.nanoTime() - startNanos);
+        }
+    }
+
+    static String getMenuName(Menu menu) {
+        if (menu instanceof InternalMenu) {
+            return ((InternalMenu) menu).getSourceFile().getFileName().toString();
+        } else {
+            return "plugin:" + menu.getPlugin().getName();
+        }
+    }
+
+    private static String getIconTypeName(Class<?> iconClass) {
+        if (iconClass.getName().startsWith("me.filoghost.chestcommands.") && !iconClass.getSimpleName().isEmpty()) {
+            return iconClass.getSimpleName();
+        } else {
+            return iconClass.getName(); // Icons of other plugins may have the same simple name
+        }
+    }
+
+    public static void reset() {
+        menuRefreshes.clear();
+        iconRenderTimes.clear();
+        placeholderLookups.reset();
+        placeholderResolutions.reset();
+        clickLatency.reset();
+        fullReloadTimes.reset();
+        changedMenusReloadTimes.reset();
+        collectingSinceMillis = System.currentTimeMillis();
+    }
+
+    public static long getCollectingSinceMillis() {
+        return collectingSinceMillis;
+    }
+
+    // Sorted by menu name
+    public static Map<String, Long> getMenuRefreshes() {
+        Map<String, Long> result = new TreeMap<>();
+        menuRefreshes.forEach((menuName, refreshes) -> result.put(menuName, refreshes.sum()));
+        return Collections.unmodifiableMap(result);
+    }
+
+    // Sorted by the name of the icon class
+    public static Map<String, LatencyHistogram.Snapshot> getIconRenderTimes() {
+        Map<String, LatencyHistogram.Snapshot> result = new TreeMap<>();
+        iconRenderTimes.forEach((iconClass, histogram) -> result.put(getIconTypeName(iconClass), histogram.snapshot()));
+        return Collections.unmodifiableMap(result);
+    }
+
+    public static long getPlaceholderLookups() {
+        return placeholderLookups.sum();
+    }
+
+    public static long getPlaceholderResolutions() {
+        return placeholderResolutions.sum();
+    }
+
+    /*
+     * Returns -1 if there were no lookups.
+     */
+    public static double getPlaceholderCacheHitRatio() {
+        long lookups = placeholderLookups.sum();
+        if (lookups == 0) {
+            return -1;
+        }
+
+        // Async resolutions may complete after the lookup was counted
+        long hits = Math.max(0, lookups - placeholderResolutions.sum());
+        return (double) hits / lookups;
+    }
+
+    public static LatencyHistogram.Snapshot getClickLatency() {
+        return clickLatency.snapshot();
+    }
+
+    public static LatencyHistogram.Snapshot getFullReloadTimes() {
+        return fullReloadTimes.snapshot();
+    }
+
+    public static LatencyHistogram.Snapshot getChangedMenusReloadTimes() {
+        return changedMenusReloadTimes.snapshot();
+    }
+
+}
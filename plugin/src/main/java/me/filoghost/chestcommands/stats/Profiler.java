@@ -0,0 +1,212 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.chestcommands.stats;
+
+import me.filoghost.chestcommands.api.Icon;
+import me.filoghost.chestcommands.api.Menu;
+import me.filoghost.chestcommands.icon.InternalConfigurableIcon;
+import me.filoghost.chestcommands.placeholder.Placeholder;
+import me.filoghost.chestcommands.placeholder.scanner.PlaceholderMatch;
+import org.bukkit.ChatColor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Times each icon rendering and placeholder replacer call while a profiling session is active, to find what causes lag.
+ * Outside a session, the only cost is reading a volatile field when starting a timer.
+ */
+public class Profiler {
+
+    public static final long NOT_STARTED = 0;
+
+    private static final int MAX_REPORT_ENTRIES = 10;
+
+    private static volatile Session activeSession;
+
+    public static synchronized boolean start() {
+        if (activeSession != null) {
+            return false;
+        }
+
+        activeSession = new Session();
+        return true;
+    }
+
+    public static boolean isActive() {
+        return activeSession != null;
+    }
+
+    /*
+     * Ends the active session and returns the report lines, or null if there was no active session.
+     */
+    public static synchronized List<String> stop() {
+        Session session = activeSession;
+        if (session == null) {
+            return null;
+        }
+
+        activeSession = null;
+        return session.createReport();
+    }
+
+    public static long startTimer() {
+        if (activeSession == null) {
+            return NOT_STARTED;
+        }
+
+        long now = System.nanoTime();
+        return now != NOT_STARTED ? now : now + 1;
+    }
+
+    public static void recordIconRender(Menu menu, Icon icon, long startNanos) {
+        recordIconRender(menu, icon, startNanos, 1);
+    }
+
+    /*
+     * For icons rendered for multiple viewers at once, the time is split among the viewers.
+     */
+    public static void recordIconRender(Menu menu, Icon icon, long startNanos, int viewers) {
+        if (startNanos == NOT_STARTED || viewers <= 0) {
+            return;
+        }
+
+        Session session = activeSession;
+        if (session == null) {
+            return; // Stopped while rendering
+        }
+
+        long elapsedNanos = System.nanoTime() - startNanos;
+        session.iconRenders
+                .computeIfAbsent(menu, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(icon, key -> new Entry(getIconDescription(menu, icon), menu.getPlugin().getName()))
+                .record(elapsedNanos / viewers, viewers);
+    }
+
+    public static void recordPlaceholderReplacer(PlaceholderMatch placeholderMatch, Placeholder placeholder, long startNanos) {
+        if (startNanos == NOT_STARTED) {
+            return;
+        }
+
+        Session session = activeSession;
+        if (session == null) {
+            return; // Stopped while replacing
+        }
+
+        long elapsedNanos = System.nanoTime() - startNanos;
+        session.placeholderReplacers
+                .computeIfAbsent(placeholder, key -> new Entry("{" + placeholderMatch.getIdentifier() + "}", placeholder.getPlugin().getName()))
+                .record(elapsedNanos, 1);
+    }
+
+    private static String getIconDescription(Menu menu, Icon icon) {
+        String iconName = null;
+        if (icon instanceof InternalConfigurableIcon) {
+            iconName = ((InternalConfigurableIcon) icon).getIconName();
+        }
+        if (iconName == null) {
+            iconName = icon.getClass().getSimpleName();
+        }
+
+        return PluginStats.getMenuName(menu) + " > " + iconName;
+    }
+
+
+    private static class Session {
+
+        private final long startNanos;
+        private final Map<Menu, Map<Icon, Entry>> iconRenders;
+        private final Map<Placeholder, Entry> placeholderReplacers;
+
+        private Session() {
+            this.startNanos = System.nanoTime();
+            this.iconRenders = new ConcurrentHashMap<>();
+            this.placeholderReplacers = new ConcurrentHashMap<>();
+        }
+
+        private List<String> createReport() {
+            long durationNanos = System.nanoTime() - startNanos;
+            List<Entry> iconEntries = new ArrayList<>();
+            for (Map<Icon, Entry> menuIconRenders : iconRenders.values()) {
+                iconEntries.addAll(menuIconRenders.values());
+            }
+            List<Entry> placeholderEntries = new ArrayList<>(placeholderReplacers.values());
+
+            List<String> report = new ArrayList<>();
+            report.add(ChatColor.GREEN + "Profiled " + TimeUnit.NANOSECONDS.toSeconds(durationNanos) + " second(s), "
+                    + "icon times include their placeholders.");
+            addRanking(report, "Icons", iconEntries, durationNanos);
+            addRanking(report, "Placeholders", placeholderEntries, durationNanos);
+            return report;
+        }
+
+        private void addRanking(List<String> report, String title, List<Entry> entries, long durationNanos) {
+            long totalNanos = sumTotalNanos(entries);
+            report.add(ChatColor.GREEN + title + ": " + ChatColor.GRAY + formatNanos(totalNanos) + " total, "
+                    + formatNanos(totalNanos * TimeUnit.SECONDS.toNanos(1) / Math.max(durationNanos, 1)) + " per second");
+
+            entries.sort(Comparator.comparingLong(Entry::getTotalNanos).reversed());
+            for (int i = 0; i < entries.size() && i < MAX_REPORT_ENTRIES; i++) {
+                Entry entry = entries.get(i);
+                report.add(ChatColor.GRAY + "" + (i + 1) + ". " + ChatColor.WHITE + entry.description
+                        + ChatColor.GRAY + " (" + entry.pluginName + "): "
+                        + formatNanos(entry.getTotalNanos()) + " total, "
+                        + entry.count.sum() + " calls, "
+                        + "max " + formatNanos(entry.maxNanos.get()));
+            }
+        }
+
+        private long sumTotalNanos(Collection<Entry> entries) {
+            long total = 0;
+            for (Entry entry : entries) {
+                total += entry.getTotalNanos();
+            }
+            return total;
+        }
+
+        private String formatNanos(long nanos) {
+            return String.format("%.3f ms", nanos / 1_000_000.0);
+        }
+
+    }
+
+
+    private static class Entry {
+
+        private final String description;
+        private final String pluginName;
+        private final LongAdder count;
+        private final LongAdder totalNanos;
+        private final LongAccumulator maxNanos;
+
+        private Entry(String description, String pluginName) {
+            this.description = description;
+            this.pluginName = pluginName;
+            this.count = new LongAdder();
+            this.totalNanos = new LongAdder();
+            this.maxNanos = new LongAccumulator(Math::max, 0);
+        }
+
+        private void record(long elapsedNanos, int times) {
+            count.add(times);
+            totalNanos.add(elapsedNanos * times);
+            maxNanos.accumulate(elapsedNanos);
+        }
+
+        private long getTotalNanos() {
+            return totalNanos.sum();
+        }
+
+    }
+
+}
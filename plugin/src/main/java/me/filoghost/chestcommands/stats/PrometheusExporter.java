@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.chestcommands.stats;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Formats the current stats in the Prometheus text exposition format.
+ */
+public class PrometheusExporter {
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    public static String export() {
+        StringBuilder output = new StringBuilder();
+
+        appendHeader(output, "chestcommands_menu_refreshes_total", "counter", "Refreshes of the open views, by menu.");
+        for (Map.Entry<String, Long> entry : PluginStats.getMenuRefreshes().entrySet()) {
+            appendSample(output, "chestcommands_menu_refreshes_total", label("menu", entry.getKey()), entry.getValue());
+        }
+
+        appendHeader(output, "chestcommands_icon_render_seconds", "histogram", "Time to render an icon for a viewer, by icon type.");
+        for (Map.Entry<String, LatencyHistogram.Snapshot> entry : PluginStats.getIconRenderTimes().entrySet()) {
+            appendHistogram(output, "chestcommands_icon_render_seconds", label("icon_type", entry.getKey()), entry.getValue());
+        }
+
+        appendHeader(output, "chestcommands_placeholder_lookups_total", "counter", "Placeholder replacements requested.");
+        appendSample(output, "chestcommands_placeholder_lookups_total", "", PluginStats.getPlaceholderLookups());
+
+        appendHeader(output, "chestcommands_placeholder_resolutions_total", "counter", "Placeholder replacements not found in the cache.");
+        appendSample(output, "chestcommands_placeholder_resolutions_total", "", PluginStats.getPlaceholderResolutions());
+
+        appendHeader(output, "chestcommands_click_latency_seconds", "histogram", "Time from an icon click to the end of its actions.");
+        appendHistogram(output, "chestcommands_click_latency_seconds", "", PluginStats.getClickLatency());
+
+        appendHeader(output, "chestcommands_reload_seconds", "histogram", "Duration of reloads, by type.");
+        appendHistogram(output, "chestcommands_reload_seconds", label("type", "full"), PluginStats.getFullReloadTimes());
+        appendHistogram(output, "chestcommands_reload_seconds", label("type", "changed_menus"), PluginStats.getChangedMenusReloadTimes());
+
+        return output.toString();
+    }
+
+    private static void appendHeader(StringBuilder output, String name, String type, String help) {
+        output.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        output.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void appendHistogram(StringBuilder output, String name, String labels, LatencyHistogram.Snapshot snapshot) {
+        long cumulativeCount = 0;
+        for (int i = 0; i < snapshot.getBucketsCount(); i++) {
+            cumulativeCount += snapshot.getBucketCount(i);
+            long upperBoundNanos = snapshot.getBucketUpperBoundNanos(i);
+            String upperBound = upperBoundNanos >= 0 ? Double.toString(upperBoundNanos / NANOS_PER_SECOND) : "+Inf";
+            appendSample(output, name + "_bucket", joinLabels(labels, label("le", upperBound)), cumulativeCount);
+        }
+
+        appendSample(output, name + "_sum", labels, snapshot.getTotalNanos() / NANOS_PER_SECOND);
+        appendSample(output, name + "_count", labels, snapshot.getCount());
+    }
+
+    private static void appendSample(StringBuilder output, String name, String labels, Object value) {
+        output.append(name);
+        if (!labels.isEmpty()) {
+            output.append('{').append(labels).append('}');
+        }
+        output.append(' ').append(value).append('\n');
+    }
+
+    private static String joinLabels(String labels, String otherLabel) {
+        return labels.isEmpty() ? otherLabel : labels + "," + otherLabel;
+    }
+
+    private static String label(String name, String value) {
+        StringBuilder escapedValue = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' || c == '"') {
+                escapedValue.append('\\').append(c);
+            } else if (c == '\n') {
+                escapedValue.append("\\n");
+            } else {
+                escapedValue.append(c);
+            }
+        }
+        return name + "=\"" + escapedValue + "\"";
+    }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.chestcommands.task;
+
+import me.filoghost.chestcommands.ChestCommands;
+import me.filoghost.chestcommands.api.Icon;
+import me.filoghost.chestcommands.api.Menu;
+import me.filoghost.chestcommands.inventory.DefaultMenuView;
+import me.filoghost.chestcommands.logging.Errors;
+import me.filoghost.chestcommands.menu.InternalMenu;
+import me.filoghost.chestcommands.stats.PluginStats;
+import me.filoghost.fcommons.logging.Log;
+import org.bukkit.ChatColor;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Clicks are handled after the click event has finished, when the queue is drained by the ticking task.
+ * All the clicks are handled in the order they were received: the click limits are already checked before adding them.
+ */
+public class ClickQueue {
+
+    private List<PendingClick> pendingClicks = new ArrayList<>();
+    private List<PendingClick> drainingClicks = new ArrayList<>();
+
+    public void add(DefaultMenuView menuView, Icon icon, Player clicker) {
+        pendingClicks.add(new PendingClick(clicker, menuView, icon, PluginStats.startTimer()));
+    }
+
+    public void drain() {
+        if (pendingClicks.isEmpty()) {
+            return;
+        }
+
+        // Swap the lists, in case new clicks are added while handling the current ones
+        List<PendingClick> clicks = pendingClicks;
+        pendingClicks = drainingClicks;
+        drainingClicks = clicks;
+
+        try {
+            for (PendingClick pendingClick : clicks) {
+                handleClick(pendingClick.clicker, pendingClick.menuView, pendingClick.icon);
+                PluginStats.recordClick(pendingClick.clickNanos);
+            }
+        } finally {
+            clicks.clear();
+        }
+    }
+
+    private void handleClick(Player clicker, DefaultMenuView menuView, Icon icon) {
+        try {
+            icon.onClick(menuView, clicker);
+        } catch (Throwable t) {
+            handleIconClickException(clicker, menuView.getMenu(), t);
+            menuView.close();
+        }
+    }
+
+    private void handleIconClickException(Player clicker, Menu menu, Throwable throwable) {
+        String menuDescription;
+        if (menu.getPlugin() == ChestCommands.getInstance()) {
+            menuDescription = "the menu \"" + Errors.formatPath(((InternalMenu) menu).getSourceFile()) + "\"";
+        } else {
+            menuDescription = "a menu created by the plugin \"" + menu.getPlugin().getName() + "\"";
+        }
+
+        Log.severe("Encountered an exception while handling a click inside " + menuDescription, throwable);
+        clicker.sendMessage(ChatColor.RED + "An internal error occurred when you clicked on the item.");
+    }
+
+
+    private static class PendingClick {
+
+        private final Player clicker;
+        private final DefaultMenuView menuView;
+        private final Icon icon;
+        private final long clickNanos;
+
+        private PendingClick(Player clicker, DefaultMenuView menuView, Icon icon, long clickNanos) {
+            this.clicker = clicker;
+            this.menuView = menuView;
+            this.icon = icon;
+            this.clickNanos = clickNanos;
+        }
+
+    }
+
+}
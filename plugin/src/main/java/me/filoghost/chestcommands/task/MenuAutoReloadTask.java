@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.chestcommands.task;
+
+import me.filoghost.chestcommands.ChestCommands;
+import me.filoghost.chestcommands.config.MenuFileTracker.MenuFileChanges;
+import me.filoghost.chestcommands.config.Settings;
+import me.filoghost.chestcommands.logging.PrintableErrorCollector;
+import me.filoghost.fcommons.logging.ErrorCollector;
+import me.filoghost.fcommons.logging.Log;
+
+public class MenuAutoReloadTask implements Runnable {
+
+    @Override
+    public void run() {
+        if (!Settings.auto_reload_menus) {
+            return;
+        }
+
+        ErrorCollector errorCollector = new PrintableErrorCollector();
+        MenuFileChanges changes = ChestCommands.reloadChangedMenus(errorCollector);
+
+        if (changes != null && !changes.isEmpty()) {
+            Log.info("Reloaded " + changes.getChangedFiles().size() + " changed menu(s), "
+                    + "unloaded " + changes.getRemovedFiles().size() + " deleted menu(s).");
+        }
+        if (errorCollector.hasErrors()) {
+            errorCollector.logToConsole();
+        }
+    }
+
+}
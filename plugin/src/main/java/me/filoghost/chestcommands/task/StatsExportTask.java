@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.chestcommands.task;
+
+import me.filoghost.chestcommands.ChestCommands;
+import me.filoghost.chestcommands.config.Settings;
+import me.filoghost.chestcommands.stats.PluginStats;
+import me.filoghost.chestcommands.stats.PrometheusExporter;
+import me.filoghost.fcommons.logging.Log;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/*
+ * Periodically writes the stats to a file, which can be collected by the textfile collector of the Prometheus node exporter.
+ * Runs asynchronously, since the stats can be read from any thread.
+ */
+public class StatsExportTask implements Runnable {
+
+    private boolean lastExportFailed;
+
+    @Override
+    public void run() {
+        if (!PluginStats.isEnabled() || Settings.stats_export_file.isEmpty()) {
+            return;
+        }
+
+        Path exportFile = ChestCommands.getDataFolderPath().resolve(Settings.stats_export_file);
+        Path tempFile = exportFile.resolveSibling(exportFile.getFileName() + ".tmp");
+
+        try {
+            // Replace the file atomically, so that it's never read while partially written
+            Files.write(tempFile, PrometheusExporter.export().getBytes(StandardCharsets.UTF_8));
+            Files.move(tempFile, exportFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            lastExportFailed = false;
+        } catch (IOException e) {
+            // Avoid logging the same error every time
+            if (!lastExportFailed) {
+                Log.warning("Couldn't write the stats to the file \"" + exportFile + "\"", e);
+                lastExportFailed = true;
+            }
+        }
+    }
+
+}
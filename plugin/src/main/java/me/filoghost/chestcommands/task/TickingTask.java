@@ -5,39 +5,22 @@
  */
 package me.filoghost.chestcommands.task;
 
-import me.filoghost.chestcommands.inventory.DefaultMenuView;
-import me.filoghost.chestcommands.menu.InternalMenu;
 import me.filoghost.chestcommands.menu.MenuManager;
 import me.filoghost.chestcommands.placeholder.PlaceholderManager;
-import org.bukkit.Bukkit;
-import org.bukkit.entity.Player;
 
 public class TickingTask implements Runnable {
 
-    private long currentTick;
+    private final ClickQueue clickQueue;
+
+    public TickingTask(ClickQueue clickQueue) {
+        this.clickQueue = clickQueue;
+    }
 
     @Override
     public void run() {
-        updateMenus();
+        clickQueue.drain();
+        MenuManager.onTick();
         PlaceholderManager.onTick();
-
-        currentTick++;
-    }
-
-    private void updateMenus() {
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            DefaultMenuView menuView = MenuManager.getOpenMenuView(player);
-
-            if (menuView == null || !(menuView.getMenu() instanceof InternalMenu)) {
-                continue;
-            }
-
-            int refreshTicks = ((InternalMenu) menuView.getMenu()).getRefreshTicks();
-
-            if (refreshTicks > 0 && currentTick % refreshTicks == 0) {
-                menuView.refresh();
-            }
-        }
     }
 
 }
@@ -20,22 +20,10 @@ import me.filoghost.chestcommands.util.nbt.NBTString;
 import me.filoghost.chestcommands.util.nbt.NBTTag;
 import me.filoghost.chestcommands.util.nbt.NBTType;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.regex.Pattern;
+import java.util.Arrays;
 
 public final class MojangsonParser {
 
-    private static final Pattern
-            DOUBLE_NS = Pattern.compile("[-+]?(?:[0-9]+[.]|[0-9]*[.][0-9]+)(?:e[-+]?[0-9]+)?", Pattern.CASE_INSENSITIVE),
-            DOUBLE_S = Pattern.compile("[-+]?(?:[0-9]+[.]?|[0-9]*[.][0-9]+)(?:e[-+]?[0-9]+)?d", Pattern.CASE_INSENSITIVE),
-            FLOAT = Pattern.compile("[-+]?(?:[0-9]+[.]?|[0-9]*[.][0-9]+)(?:e[-+]?[0-9]+)?f", Pattern.CASE_INSENSITIVE),
-            BYTE = Pattern.compile("[-+]?(?:0|[1-9][0-9]*)b", Pattern.CASE_INSENSITIVE),
-            LONG = Pattern.compile("[-+]?(?:0|[1-9][0-9]*)l", Pattern.CASE_INSENSITIVE),
-            SHORT = Pattern.compile("[-+]?(?:0|[1-9][0-9]*)s", Pattern.CASE_INSENSITIVE),
-            INT = Pattern.compile("[-+]?(?:0|[1-9][0-9]*)");
-
-
     private final String str;
     private int index;
 
@@ -69,46 +57,172 @@ public final class MojangsonParser {
         if (currentChar() == '"') {
             return new NBTString(parseQuotedString());
         }
-        String str = parseSimpleString();
-        if (str.isEmpty()) {
+        int start = this.index;
+        int end = skipSimpleChars();
+        if (start == end) {
             throw parseException("Expected value");
         }
-        return parseLiteral(str);
+        return parseLiteral(start, end);
     }
 
-    private NBTTag parseLiteral(String str) {
+    /*
+     * Unquoted literals are classified in a single pass, with the same rules of the following patterns (case insensitive):
+     * float        [-+]?(?:[0-9]+[.]?|[0-9]*[.][0-9]+)(?:e[-+]?[0-9]+)?f
+     * byte         [-+]?(?:0|[1-9][0-9]*)b
+     * long         [-+]?(?:0|[1-9][0-9]*)l
+     * short        [-+]?(?:0|[1-9][0-9]*)s
+     * int          [-+]?(?:0|[1-9][0-9]*)
+     * double       [-+]?(?:[0-9]+[.]?|[0-9]*[.][0-9]+)(?:e[-+]?[0-9]+)?d
+     * double       [-+]?(?:[0-9]+[.]|[0-9]*[.][0-9]+)(?:e[-+]?[0-9]+)?
+     * Any other literal (or a number out of range) is a string, except "true" and "false" which are bytes.
+     */
+    private NBTTag parseLiteral(int start, int end) {
+        NBTType type = classifyLiteral(start, end);
+
         try {
-            if (FLOAT.matcher(str).matches()) {
-                return new NBTFloat(Float.parseFloat(str.substring(0, str.length() - 1)));
+            if (type == NBTType.BYTE) {
+                return new NBTByte((byte) parseIntegerLiteral(start, end - 1, Byte.MIN_VALUE, Byte.MAX_VALUE));
+            } else if (type == NBTType.SHORT) {
+                return new NBTShort((short) parseIntegerLiteral(start, end - 1, Short.MIN_VALUE, Short.MAX_VALUE));
+            } else if (type == NBTType.INT) {
+                return new NBTInt((int) parseIntegerLiteral(start, end, Integer.MIN_VALUE, Integer.MAX_VALUE));
+            } else if (type == NBTType.LONG) {
+                return new NBTLong(parseIntegerLiteral(start, end - 1, Long.MIN_VALUE, Long.MAX_VALUE));
+            } else if (type == NBTType.FLOAT) {
+                return new NBTFloat(Float.parseFloat(this.str.substring(start, end - 1)));
+            } else if (type == NBTType.DOUBLE) {
+                boolean hasSuffix = Character.toLowerCase(this.str.charAt(end - 1)) == 'd';
+                return new NBTDouble(Double.parseDouble(this.str.substring(start, hasSuffix ? end - 1 : end)));
             }
-            if (BYTE.matcher(str).matches()) {
-                return new NBTByte(Byte.parseByte(str.substring(0, str.length() - 1)));
-            }
-            if (LONG.matcher(str).matches()) {
-                return new NBTLong(Long.parseLong(str.substring(0, str.length() - 1)));
+        } catch (NumberFormatException ex) {
+            return new NBTString(this.str.substring(start, end));
+        }
+
+        if (isLiteral(start, end, "true")) {
+            return new NBTByte((byte) 1);
+        }
+        if (isLiteral(start, end, "false")) {
+            return new NBTByte((byte) 0);
+        }
+        return new NBTString(this.str.substring(start, end));
+    }
+
+    /*
+     * Returns the numeric type of the literal, or null if it's not a number.
+     */
+    private NBTType classifyLiteral(int start, int end) {
+        int i = start;
+        char c = this.str.charAt(i);
+        if (c == '-' || c == '+') {
+            i++;
+        }
+
+        int integerStart = i;
+        while (i < end && isDigit(this.str.charAt(i))) {
+            i++;
+        }
+        int integerDigits = i - integerStart;
+
+        boolean hasDot = false;
+        int fractionDigits = 0;
+        if (i < end && this.str.charAt(i) == '.') {
+            hasDot = true;
+            i++;
+            int fractionStart = i;
+            while (i < end && isDigit(this.str.charAt(i))) {
+                i++;
             }
-            if (SHORT.matcher(str).matches()) {
-                return new NBTShort(Short.parseShort(str.substring(0, str.length() - 1)));
+            fractionDigits = i - fractionStart;
+        }
+
+        boolean validMantissa = integerDigits > 0 || fractionDigits > 0;
+        boolean hasExponent = false;
+        if (validMantissa && i < end && Character.toLowerCase(this.str.charAt(i)) == 'e') {
+            int exponentStart = i + 1;
+            if (exponentStart < end && (this.str.charAt(exponentStart) == '-' || this.str.charAt(exponentStart) == '+')) {
+                exponentStart++;
             }
-            if (INT.matcher(str).matches()) {
-                return new NBTInt(Integer.parseInt(str));
+            int j = exponentStart;
+            while (j < end && isDigit(this.str.charAt(j))) {
+                j++;
             }
-            if (DOUBLE_S.matcher(str).matches()) {
-                return new NBTDouble(Double.parseDouble(str.substring(0, str.length() - 1)));
+            if (j == exponentStart) {
+                return null;
             }
-            if (DOUBLE_NS.matcher(str).matches()) {
-                return new NBTDouble(Double.parseDouble(str));
+            hasExponent = true;
+            i = j;
+        }
+
+        boolean integerForm = !hasDot && !hasExponent && integerDigits > 0
+                && (integerDigits == 1 || this.str.charAt(integerStart) != '0');
+
+        if (i == end) {
+            if (integerForm) {
+                return NBTType.INT;
+            } else if (validMantissa && hasDot) {
+                return NBTType.DOUBLE;
+            } else {
+                return null;
             }
-            if ("true".equalsIgnoreCase(str)) {
-                return new NBTByte((byte) 1);
+        }
+
+        if (i != end - 1) {
+            return null;
+        }
+
+        switch (Character.toLowerCase(this.str.charAt(i))) {
+            case 'f':
+                return validMantissa ? NBTType.FLOAT : null;
+            case 'd':
+                return validMantissa ? NBTType.DOUBLE : null;
+            case 'b':
+                return integerForm ? NBTType.BYTE : null;
+            case 's':
+                return integerForm ? NBTType.SHORT : null;
+            case 'l':
+                return integerForm ? NBTType.LONG : null;
+            default:
+                return null;
+        }
+    }
+
+    /*
+     * Parses an integer already validated by classifyLiteral, without creating substrings.
+     * Accumulates negatively like Long.parseLong, so that the minimum value doesn't overflow.
+     */
+    private long parseIntegerLiteral(int start, int end, long min, long max) {
+        boolean negative = false;
+        int i = start;
+        char c = this.str.charAt(i);
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            i++;
+        }
+
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplyLimit = limit / 10;
+        long result = 0;
+        for (; i < end; i++) {
+            int digit = this.str.charAt(i) - '0';
+            if (result < multiplyLimit) {
+                throw new NumberFormatException();
             }
-            if ("false".equalsIgnoreCase(str)) {
-                return new NBTByte((byte) 0);
+            result *= 10;
+            if (result < limit + digit) {
+                throw new NumberFormatException();
             }
-        } catch (NumberFormatException ex) {
-            return new NBTString(str);
+            result -= digit;
         }
-        return new NBTString(str);
+
+        long value = negative ? result : -result;
+        if (value < min || value > max) {
+            throw new NumberFormatException();
+        }
+        return value;
+    }
+
+    private boolean isLiteral(int start, int end, String literal) {
+        return end - start == literal.length() && this.str.regionMatches(true, start, literal, 0, literal.length());
     }
 
     private String parseQuotedString() throws MojangsonParseException {
@@ -145,10 +259,14 @@ public final class MojangsonParser {
 
     private String parseSimpleString() {
         int j = this.index;
+        return this.str.substring(j, skipSimpleChars());
+    }
+
+    private int skipSimpleChars() {
         while (hasNext() && isSimpleChar(currentChar())) {
             this.index += 1;
         }
-        return this.str.substring(j, this.index);
+        return this.index;
     }
 
     private NBTTag parseAnything() throws MojangsonParseException {
@@ -243,31 +361,63 @@ public final class MojangsonParser {
             throw parseException("Expected value");
         }
         if (arrayType == 'B') {
-            return new NBTByteArray(parseNumArray(NBTType.BYTE_ARRAY, NBTType.BYTE));
+            long[] values = parseNumArray(NBTType.BYTE_ARRAY, NBTType.BYTE);
+            byte[] bytes = new byte[values.length];
+            for (int i = 0; i < values.length; i++) {
+                bytes[i] = (byte) values[i];
+            }
+            return new NBTByteArray(bytes);
         } else if (arrayType == 'L') {
             return new NBTLongArray(parseNumArray(NBTType.LONG_ARRAY, NBTType.LONG));
         } else if (arrayType == 'I') {
-            return new NBTIntArray(parseNumArray(NBTType.INT_ARRAY, NBTType.INT));
+            long[] values = parseNumArray(NBTType.INT_ARRAY, NBTType.INT);
+            int[] ints = new int[values.length];
+            for (int i = 0; i < values.length; i++) {
+                ints[i] = (int) values[i];
+            }
+            return new NBTIntArray(ints);
         }
         throw parseException("Invalid array type '" + arrayType + "' found");
     }
 
-    private Number[] parseNumArray(NBTType arrayType, NBTType primType) throws MojangsonParseException {
-        List<Number> result = new ArrayList<>();
+    /*
+     * Values are parsed directly into a primitive array, without creating a tag for each element.
+     * The returned values are already checked to be in the range of the element type.
+     */
+    private long[] parseNumArray(NBTType arrayType, NBTType primType) throws MojangsonParseException {
+        long[] result = new long[16];
+        int size = 0;
+
         while (currentChar() != ']') {
-            NBTTag element = parseAnything();
-            NBTType elementType = element.getType();
+            skipWhitespace();
+            long value;
+
+            int start = this.index;
+            int end = skipSimpleChars();
+            if (start != end && classifyLiteral(start, end) == primType) {
+                try {
+                    value = parseNumArrayElement(start, end, primType);
+                } catch (NumberFormatException e) {
+                    // Out of range numbers are strings, as in parseLiteral()
+                    throw parseException("Unable to insert " + NBTType.STRING + " into " + arrayType);
+                }
+            } else {
+                // Slower path, also used to report errors
+                this.index = start;
+                NBTTag element = parseAnything();
+                NBTType elementType = element.getType();
 
-            if (elementType != primType) {
-                throw parseException("Unable to insert " + elementType + " into " + arrayType);
+                if (elementType != primType) {
+                    throw parseException("Unable to insert " + elementType + " into " + arrayType);
+                }
+                value = ((Number) element.getValue()).longValue();
             }
-            if (primType == NBTType.BYTE) {
-                result.add(((NBTByte) element).getValue());
-            } else if (primType == NBTType.LONG) {
-                result.add(((NBTLong) element).getValue());
-            } else {
-                result.add(((NBTInt) element).getValue());
+
+            if (size == result.length) {
+                result = Arrays.copyOf(result, size * 2);
             }
+            result[size++] = value;
+
             if (!advanceToNextArrayElement()) {
                 break;
             }
@@ -277,7 +427,17 @@ public final class MojangsonParser {
         }
         expectChar(']');
 
-        return result.toArray(new Number[0]);
+        return Arrays.copyOf(result, size);
+    }
+
+    private long parseNumArrayElement(int start, int end, NBTType primType) {
+        if (primType == NBTType.BYTE) {
+            return parseIntegerLiteral(start, end - 1, Byte.MIN_VALUE, Byte.MAX_VALUE);
+        } else if (primType == NBTType.INT) {
+            return parseIntegerLiteral(start, end, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        } else {
+            return parseIntegerLiteral(start, end - 1, Long.MIN_VALUE, Long.MAX_VALUE);
+        }
     }
 
     // CHARACTER NAVIGATION
@@ -375,6 +535,10 @@ public final class MojangsonParser {
         return new MojangsonParseException(paramString, this.str, this.index);
     }
 
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
     private static boolean isSimpleChar(char paramChar) {
         return (paramChar >= '0' && paramChar <= '9')
                 || (paramChar >= 'A' && paramChar <= 'Z')
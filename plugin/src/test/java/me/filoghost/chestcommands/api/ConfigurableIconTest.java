@@ -12,6 +12,8 @@ import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.assertj.core.api.Assertions.*;
 
 class ConfigurableIconTest {
@@ -85,4 +87,22 @@ class ConfigurableIconTest {
         assertThat(icon.renderName(BukkitMocks.PLAYER)).isEqualTo("abc {temp} 123");
     }
 
+    @Test
+    void cachedPlaceholderReplacement() {
+        BaseConfigurableIcon icon = (BaseConfigurableIcon) ConfigurableIcon.create(Material.STONE);
+        icon.setPlaceholdersEnabled(true);
+        icon.setName("abc {temp} 123");
+        AtomicInteger replacementsCount = new AtomicInteger();
+
+        try {
+            ChestCommandsAPI.registerPlaceholder(BukkitMocks.PLUGIN, "temp",
+                    (player, argument) -> String.valueOf(replacementsCount.incrementAndGet()), PlaceholderScope.GLOBAL, 20);
+
+            assertThat(icon.renderName(BukkitMocks.PLAYER)).isEqualTo("abc 1 123");
+            assertThat(icon.renderName(BukkitMocks.PLAYER)).isEqualTo("abc 1 123");
+        } finally {
+            ChestCommandsAPI.unregisterPlaceholder(BukkitMocks.PLUGIN, "temp");
+        }
+    }
+
 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.chestcommands.config;
+
+import me.filoghost.fcommons.config.ConfigLoader;
+import me.filoghost.fcommons.config.ConfigSection;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.yaml.snakeyaml.Yaml;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MenuSnapshotTest {
+
+    private static final String MENU = String.join("\n",
+            "menu-settings:",
+            "  name: '&1Example menu'",
+            "  rows: 3",
+            "  commands:",
+            "  - 'menu'",
+            "  - 'example'",
+            "  auto-refresh: 2.5",
+            "  open-with-item:",
+            "    material: compass",
+            "    left-click: true",
+            "    right-click: false",
+            "",
+            "example-icon:",
+            "  MATERIAL: diamond_sword",
+            "  POSITION-X: 1",
+            "  POSITION-Y: 2",
+            "  NAME: '&a{player} has {online} online friends'",
+            "  LORE:",
+            "  - '&7First line'",
+            "  - ''",
+            "  - '&7Third line'",
+            "  ENCHANTMENTS:",
+            "  - 'sharpness, 5'",
+            "  PRICE: 10.5",
+            "  LEVELS: 3",
+            "  KEEP-OPEN: true",
+            "  NBT-DATA: '{Unbreakable:1b}'",
+            "  ACTIONS:",
+            "  - 'tell: &aHello'",
+            "");
+
+    @Test
+    void snapshotSameAsLoadedFromYaml(@TempDir Path folder) throws Exception {
+        Path menuFile = folder.resolve("example.yml");
+        Files.write(menuFile, MENU.getBytes(StandardCharsets.UTF_8));
+
+        ConfigSection loadedConfig = new ConfigLoader(folder, menuFile).load();
+        ConfigSection snapshotConfig = decode(encode(MENU));
+
+        assertSameValues(loadedConfig, snapshotConfig, "");
+    }
+
+    @Test
+    void snapshotSameAfterCaching() {
+        byte[] snapshot = encode(MENU);
+
+        assertSameValues(decode(snapshot), decode(snapshot.clone()), "");
+    }
+
+    @Test
+    void listOfNumbersNotSupported() {
+        assertThat(encode("icon:\n  LORE:\n  - 1\n  - 2\n")).isNull();
+    }
+
+    @Test
+    void listOfBooleansNotSupported() {
+        assertThat(encode("icon:\n  LORE:\n  - true\n")).isNull();
+    }
+
+    @Test
+    void emptySectionNotSupported() {
+        assertThat(encode("icon: {}\n")).isNull();
+    }
+
+    private static byte[] encode(String yaml) {
+        return MenuSnapshot.encode(new Yaml().load(yaml));
+    }
+
+    private static ConfigSection decode(byte[] snapshot) {
+        return MenuSnapshot.decode(ByteBuffer.wrap(snapshot));
+    }
+
+    private static void assertSameValues(ConfigSection expected, ConfigSection actual, String sectionPath) {
+        assertThat(actual.getKeys()).as(sectionPath).containsExactlyInAnyOrderElementsOf(expected.getKeys());
+
+        for (String key : expected.getKeys()) {
+            String path = sectionPath + key;
+            ConfigSection expectedSection = expected.getConfigSection(key);
+            if (expectedSection != null) {
+                assertThat(actual.getConfigSection(key)).as(path).isNotNull();
+                assertSameValues(expectedSection, actual.getConfigSection(key), path + ".");
+            } else {
+                assertThat(actual.getConfigSection(key)).as(path).isNull();
+                assertThat(actual.getString(key)).as(path).isEqualTo(expected.getString(key));
+                assertThat(actual.getStringList(key)).as(path).isEqualTo(expected.getStringList(key));
+                assertThat(actual.getInt(key)).as(path).isEqualTo(expected.getInt(key));
+                assertThat(actual.getDouble(key)).as(path).isEqualTo(expected.getDouble(key));
+                assertThat(actual.getBoolean(key)).as(path).isEqualTo(expected.getBoolean(key));
+            }
+        }
+    }
+
+}
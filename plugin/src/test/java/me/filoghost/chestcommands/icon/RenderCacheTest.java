@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.chestcommands.icon;
+
+import me.filoghost.chestcommands.icon.RenderCache.RenderedValues;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RenderCacheTest {
+
+    @Test
+    void moreValuesThanMaxSize() {
+        RenderCache renderCache = new RenderCache();
+        CountingRenderer renderer = new CountingRenderer();
+        int distinctValues = RenderCache.MAX_SIZE * 3;
+        int lookupsPerValue = 4;
+
+        // Like a global placeholder that changes over time, while the icon is refreshed multiple times
+        for (int i = 0; i < distinctValues; i++) {
+            RenderedValues renderedValues = values("value " + i);
+            for (int j = 0; j < lookupsPerValue; j++) {
+                assertThat(renderCache.get(renderedValues, renderer)).isSameAs(renderer.getRendered(renderedValues));
+            }
+        }
+
+        int lookups = distinctValues * lookupsPerValue;
+        int hits = lookups - renderer.renders;
+        assertThat(renderer.renders).isEqualTo(distinctValues);
+        assertThat(hits).isEqualTo(distinctValues * (lookupsPerValue - 1));
+    }
+
+    @Test
+    void recentValuesKept() {
+        RenderCache renderCache = new RenderCache();
+        CountingRenderer renderer = new CountingRenderer();
+        int distinctValues = RenderCache.MAX_SIZE * 2;
+
+        for (int i = 0; i < distinctValues; i++) {
+            renderCache.get(values("value " + i), renderer);
+        }
+        assertThat(renderer.renders).isEqualTo(distinctValues);
+
+        // The most recent values are still cached, the oldest were evicted
+        for (int i = distinctValues - RenderCache.MAX_SIZE; i < distinctValues; i++) {
+            RenderedValues renderedValues = values("value " + i);
+            assertThat(renderCache.get(renderedValues, renderer)).isSameAs(renderer.getRendered(renderedValues));
+        }
+        assertThat(renderer.renders).isEqualTo(distinctValues);
+
+        RenderedValues evictedValues = values("value 0");
+        ItemStack evictedRendering = renderer.getRendered(evictedValues);
+        assertThat(renderCache.get(evictedValues, renderer)).isNotSameAs(evictedRendering);
+        assertThat(renderer.renders).isEqualTo(distinctValues + 1);
+    }
+
+    @Test
+    void equalValuesShared() {
+        RenderCache renderCache = new RenderCache();
+        CountingRenderer renderer = new CountingRenderer();
+
+        ItemStack first = renderCache.get(values("same"), renderer);
+        ItemStack second = renderCache.get(values("same"), renderer);
+
+        assertThat(second).isSameAs(first);
+        assertThat(renderer.renders).isEqualTo(1);
+    }
+
+    @Test
+    void clear() {
+        RenderCache renderCache = new RenderCache();
+        CountingRenderer renderer = new CountingRenderer();
+
+        renderCache.get(values("value"), renderer);
+        renderCache.clear();
+        renderCache.get(values("value"), renderer);
+
+        assertThat(renderer.renders).isEqualTo(2);
+    }
+
+    private static RenderedValues values(String name) {
+        return new RenderedValues(name, null, null);
+    }
+
+
+    private static class CountingRenderer implements Function<RenderedValues, ItemStack> {
+
+        private final Map<RenderedValues, ItemStack> lastRendered = new HashMap<>();
+        private int renders;
+
+        @Override
+        public ItemStack apply(RenderedValues renderedValues) {
+            renders++;
+            ItemStack itemStack = new ItemStack(Material.STONE);
+            lastRendered.put(renderedValues, itemStack);
+            return itemStack;
+        }
+
+        private ItemStack getRendered(RenderedValues renderedValues) {
+            return lastRendered.get(renderedValues);
+        }
+
+    }
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.chestcommands.placeholder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class StaticPlaceholderMatcherTest {
+
+    @Test
+    void replaceSingle() {
+        StaticPlaceholderMatcher matcher = compile("{heart}", "<3");
+
+        assertThat(matcher.replaceAll("I {heart} you {heart}")).isEqualTo("I <3 you <3");
+    }
+
+    @Test
+    void noMatches() {
+        StaticPlaceholderMatcher matcher = compile("{heart}", "<3");
+        String text = "I {hear} you";
+
+        assertThat(matcher.replaceAll(text)).isSameAs(text);
+        assertThat(matcher.containsAny(text)).isFalse();
+    }
+
+    @Test
+    void emptyMatcher() {
+        assertThat(StaticPlaceholderMatcher.EMPTY.replaceAll("{heart}")).isEqualTo("{heart}");
+        assertThat(StaticPlaceholderMatcher.EMPTY.containsAny("{heart}")).isFalse();
+    }
+
+    @Test
+    void emptyIdentifierIgnored() {
+        StaticPlaceholderMatcher matcher = compile("", "x", "b", "B");
+
+        assertThat(matcher.replaceAll("abc")).isEqualTo("aBc");
+        assertThat(matcher.containsAny("ac")).isFalse();
+    }
+
+    @Test
+    void overlappingFirstStartReplaced() {
+        StaticPlaceholderMatcher matcher = compile("abc", "1", "bcd", "2");
+
+        assertThat(matcher.replaceAll("abcd")).isEqualTo("1d");
+        assertThat(matcher.replaceAll("xbcd")).isEqualTo("x2");
+    }
+
+    @Test
+    void overlappingLaterMatchAfterReplaced() {
+        StaticPlaceholderMatcher matcher = compile("ab", "1", "bc", "2", "cd", "3");
+
+        assertThat(matcher.replaceAll("abcd")).isEqualTo("13");
+    }
+
+    @Test
+    void prefixSharingLongestReplaced() {
+        StaticPlaceholderMatcher matcher = compile("ab", "1", "abc", "2", "abcd", "3");
+
+        assertThat(matcher.replaceAll("abcd abc ab a")).isEqualTo("3 2 1 a");
+    }
+
+    @Test
+    void prefixSharingLongestReplacedRegardlessOfOrder() {
+        StaticPlaceholderMatcher matcher = compile("abcd", "3", "abc", "2", "ab", "1");
+
+        assertThat(matcher.replaceAll("abcd abc ab a")).isEqualTo("3 2 1 a");
+    }
+
+    @Test
+    void suffixOfAnotherIdentifier() {
+        StaticPlaceholderMatcher matcher = compile("she", "1", "he", "2", "hers", "3");
+
+        assertThat(matcher.replaceAll("ushers")).isEqualTo("u1rs");
+        assertThat(matcher.replaceAll("hershe")).isEqualTo("32");
+        assertThat(matcher.replaceAll("the")).isEqualTo("t2");
+    }
+
+    @Test
+    void duplicateIdentifiersFirstUsed() {
+        StaticPlaceholderMatcher matcher = compile("{x}", "first", "{x}", "second");
+
+        assertThat(matcher.replaceAll("{x} {x}")).isEqualTo("first first");
+    }
+
+    @Test
+    void replacementNotReplacedAgain() {
+        StaticPlaceholderMatcher matcher = compile("{a}", "{b}", "{b}", "b");
+
+        assertThat(matcher.replaceAll("{a}")).isEqualTo("{b}");
+        assertThat(matcher.replaceAll("{a}{b}")).isEqualTo("{b}b");
+    }
+
+    @Test
+    void replacementContainingItself() {
+        StaticPlaceholderMatcher matcher = compile("{a}", "{a}{a}");
+
+        assertThat(matcher.replaceAll("{a}")).isEqualTo("{a}{a}");
+    }
+
+    @Test
+    void containsAnyThroughOutputLink() {
+        // When reading "abc", the current node is the one of "abc", which has no output: "bc" is found through its output link
+        StaticPlaceholderMatcher matcher = compile("abcd", "1", "bc", "2");
+
+        assertThat(matcher.containsAny("abcx")).isTrue();
+        assertThat(matcher.replaceAll("abcx")).isEqualTo("a2x");
+        assertThat(matcher.containsAny("abx")).isFalse();
+    }
+
+    @Test
+    void containsAnyThroughLongOutputLinkChain() {
+        StaticPlaceholderMatcher matcher = compile("abcdef", "1", "cdex", "2", "e", "3");
+
+        assertThat(matcher.containsAny("abcde")).isTrue();
+        assertThat(matcher.containsAny("abcd")).isFalse();
+    }
+
+    private static StaticPlaceholderMatcher compile(String... identifiersAndReplacements) {
+        List<StaticPlaceholder> staticPlaceholders = new ArrayList<>();
+        for (int i = 0; i < identifiersAndReplacements.length; i += 2) {
+            staticPlaceholders.add(new StaticPlaceholder(identifiersAndReplacements[i], identifiersAndReplacements[i + 1]));
+        }
+        return StaticPlaceholderMatcher.compile(staticPlaceholders);
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) filoghost and contributors
+ *
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ */
+package me.filoghost.chestcommands.util.nbt.parser;
+
+import me.filoghost.chestcommands.util.nbt.NBTCompound;
+import me.filoghost.chestcommands.util.nbt.NBTType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MojangsonParserTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            // Number suffixes, in both cases
+            "{a:1b,b:2s,c:3l,d:4f,e:5d,f:6}",
+            "{a:1B,b:2S,c:3L,d:4F,e:5D}",
+            "{a:true,b:false,c:TRUE}",
+            // Signs
+            "{a:-1b,b:+2s,c:-3l,d:+4,e:-0,f:+0b}",
+            "{a:-1.5f,b:+2.5d,c:-3.,d:+.5,e:-.5d}",
+            // Exponents
+            "{a:1e5,b:1e5d,c:1.5E-3f,d:.5e+2d,e:1.e3,f:-2E10F}",
+            "{a:1e,b:1e+,c:e5,d:1e5l,e:1e5b}",
+            // Out of range numbers are strings
+            "{a:128b,b:-129b,c:32768s,d:2147483648,e:9223372036854775808l}",
+            "{a:127b,b:-128b,c:32767s,d:-2147483648,e:-9223372036854775808l}",
+            // Leading zeros, dots and other almost numbers are strings
+            "{a:01,b:00b,c:0x10,d:1.2.3,e:.,f:-,g:+,h:1_000}",
+            // Unquoted strings
+            "{a:stone,b:some.name,c:a-b+c_d,d:Name}",
+            // Quoted strings and escapes
+            "{a:\"\",b:\"with spaces\",c:\"quote \\\" inside\",d:\"back\\\\slash\",e:\"1b\",f:\"true\"}",
+            "{\"quoted key\":1,\"a:b\":2,\"{}\":3}",
+            // Typed arrays
+            "{a:[B;1b,2b,-3b],b:[I;1,-2,+3],c:[L;1l,2L,-3l]}",
+            "{a:[B;],b:[I;],c:[L;]}",
+            "{a:[B; 1b , 2b ],b:[I; 1 ,2 ]}",
+            // Lists and nested compounds
+            "{a:[1,2,3],b:[\"a\",b,c],c:[{x:1},{y:2b}],d:[[1],[2b]],e:[]}",
+            "{display:{Name:\"{\\\"text\\\":\\\"Example\\\"}\",Lore:[\"a\",\"b\"]},Enchantments:[{id:\"sharpness\",lvl:5s}]}",
+            // Whitespace and trailing commas
+            " { a : 1b , b : [ 1 , 2 ] , c : { } } ",
+            "{a:1,b:[1,],c:[I;1,],}",
+    })
+    void sameAsLegacyParser(String mson) throws MojangsonParseException {
+        assertThat(MojangsonParser.parse(mson)).isEqualTo(LegacyMojangsonParser.parse(mson));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "",
+            "   ",
+            "a:1",
+            "{",
+            "{a}",
+            "{a:}",
+            "{:1}",
+            "{\"\":1}",
+            "{a:1",
+            "{a:1}}",
+            "{a:1} trailing",
+            "{a:\"unterminated}",
+            "{a:\"bad \\escape\"}",
+            "{a:[1,2b]}",
+            "{a:[B;1,2]}",
+            "{a:[I;1b]}",
+            "{a:[L;1]}",
+            "{a:[X;1]}",
+            "{a:[B;1b}",
+    })
+    void malformedSameErrorAsLegacy(String mson) {
+        MojangsonParseException legacyException = catchThrowableOfType(() -> LegacyMojangsonParser.parse(mson), MojangsonParseException.class);
+        MojangsonParseException exception = catchThrowableOfType(() -> MojangsonParser.parse(mson), MojangsonParseException.class);
+
+        assertThat(legacyException).isNotNull();
+        assertThat(exception).isNotNull();
+        assertThat(exception.getMessage()).isEqualTo(legacyException.getMessage());
+    }
+
+    @Test
+    void numberTypes() throws MojangsonParseException {
+        NBTCompound compound = MojangsonParser.parse("{a:1b,b:2s,c:3l,d:4f,e:5d,f:6,g:7.,h:8e1,i:true,j:9x}");
+
+        assertThat(compound.getTag("a").getType()).isEqualTo(NBTType.BYTE);
+        assertThat(compound.getTag("b").getType()).isEqualTo(NBTType.SHORT);
+        assertThat(compound.getTag("c").getType()).isEqualTo(NBTType.LONG);
+        assertThat(compound.getTag("d").getType()).isEqualTo(NBTType.FLOAT);
+        assertThat(compound.getTag("e").getType()).isEqualTo(NBTType.DOUBLE);
+        assertThat(compound.getTag("f").getType()).isEqualTo(NBTType.INT);
+        assertThat(compound.getTag("g").getType()).isEqualTo(NBTType.DOUBLE);
+        assertThat(compound.getTag("h").getType()).isEqualTo(NBTType.STRING);
+        assertThat(compound.getTag("i").getType()).isEqualTo(NBTType.BYTE);
+        assertThat(compound.getTag("j").getType()).isEqualTo(NBTType.STRING);
+    }
+
+    @Test
+    void typedArrays() throws MojangsonParseException {
+        NBTCompound compound = MojangsonParser.parse("{a:[B;1b,-2b],b:[I;3,-4],c:[L;5l,-6l]}");
+
+        assertThat(compound.getByteArray("a")).containsExactly((byte) 1, (byte) -2);
+        assertThat(compound.getIntArray("b")).containsExactly(3, -4);
+        assertThat(compound.getLongArray("c")).containsExactly(5L, -6L);
+    }
+
+}